@@ -1,4 +1,8 @@
 // Main.java
+import utils.CSVFileManager;
+import utils.ParallelQueries;
+import utils.PasswordHasher;
+import utils.TaskLog;
 import utils.ThemePreference;
 import view.LoginView;
 import view.ThemeManager;
@@ -14,6 +18,25 @@ public class Main {
         int savedTheme = ThemePreference.loadTheme();
         ThemeManager.applyTheme(savedTheme);
 
+        // Report store write latency on exit when asked to
+        if (Boolean.getBoolean("todo.metrics")) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                System.out.println(TaskLog.WRITE_METRICS);
+                System.out.println(CSVFileManager.USER_WRITE_METRICS);
+                System.out.println(PasswordHasher.describe());
+                System.out.println(ParallelQueries.describe());
+            }));
+        }
+
+        // Benchmark bcrypt, and parallel queries unless an earlier launch saved
+        // the result, while the login window opens
+        Thread calibration = new Thread(() -> {
+            PasswordHasher.cost();
+            ParallelQueries.calibrate();
+        }, "calibration");
+        calibration.setDaemon(true);
+        calibration.start();
+
         // Start app
         SwingUtilities.invokeLater(() -> {
             LoginView loginView = new LoginView();
@@ -4,6 +4,9 @@ package controller;
 import model.*;
 import view.*;
 
+import javax.swing.SwingWorker;
+import java.util.concurrent.ExecutionException;
+
 /**
  * Controller for the login view
  */
@@ -17,26 +20,40 @@ public class LoginController {
     }
 
     /**
-     * Handles login button click
+     * Handles login button click. The password check runs off the event
+     * dispatch thread, so the window stays responsive while bcrypt works.
      */
-    // In LoginController.java
     public void handleLogin() {
         String username = view.getUsername();
         String password = view.getPassword();
+        view.setBusy(true);
+
+        new SwingWorker<Boolean, Void>() {
+            @Override
+            protected Boolean doInBackground() throws Exception {
+                return taskManager.login(username, password);
+            }
 
-        try {
-            if (taskManager.login(username, password)) {
-                // Pass the authenticated TaskManager to TaskView
-                TaskView taskView = new TaskView(taskManager); // Pass taskManager
-                taskView.setVisible(true);
-                view.dispose();
-            } else {
-                view.showErrorMessage("Invalid username or password.");
-                view.clearPassword();
+            @Override
+            protected void done() {
+                view.setBusy(false);
+                try {
+                    if (get()) {
+                        // Pass the authenticated TaskManager to TaskView
+                        TaskView taskView = new TaskView(taskManager); // Pass taskManager
+                        taskView.setVisible(true);
+                        view.dispose();
+                    } else {
+                        view.showErrorMessage("Invalid username or password.");
+                        view.clearPassword();
+                    }
+                } catch (ExecutionException e) {
+                    view.showErrorMessage("Error during login: " + e.getCause().getMessage());
+                } catch (Exception e) {
+                    view.showErrorMessage("Error during login: " + e.getMessage());
+                }
             }
-        } catch (Exception e) {
-            view.showErrorMessage("Error during login: " + e.getMessage());
-        }
+        }.execute();
     }
 
     /**
@@ -2,16 +2,20 @@
 package controller;
 
 import model.*;
+import utils.TaskImportPipeline;
 import view.*;
 
 import javax.swing.*;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Controller for the task view
  */
 public class TaskController {
+    private static final int MAX_REPORTED_IMPORT_PROBLEMS = 10;
+
     // In TaskController.java
     private final TaskView view;
     private final TaskManager taskManager;
@@ -22,12 +26,23 @@ public class TaskController {
     }
 
     /**
-     * Loads tasks from the task manager
+     * Shows the tasks the task manager already holds, e.g. those loaded at login
+     */
+    public void showTasks() {
+        try {
+            view.setTasks(taskManager.query(currentQuery()));
+        } catch (Exception e) {
+            view.showErrorMessage("Error showing tasks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reloads tasks from storage, e.g. after another process changed them
      */
     public void loadTasks() {
         try {
             taskManager.loadUserTasks();
-            view.setTasks(taskManager.getAllTasks());
+            view.setTasks(taskManager.query(currentQuery()));
         } catch (Exception e) {
             view.showErrorMessage("Error loading tasks: " + e.getMessage());
         }
@@ -37,26 +52,8 @@ public class TaskController {
      * Handles filter change
      */
     public void handleFilterChange() {
-        String filter = view.getFilterSelection();
-
         try {
-            List<Task> filteredTasks;
-
-            switch (filter) {
-                case "Complete":
-                    filteredTasks = taskManager.filterTasksByStatus(TaskStatus.COMPLETE);
-                    break;
-                case "Incomplete":
-                    filteredTasks = taskManager.filterTasksByStatus(TaskStatus.INCOMPLETE);
-                    break;
-                case "High Priority":
-                    filteredTasks = taskManager.filterTasksByPriority(PriorityLevel.URGENT);
-                    break;
-                default:
-                    filteredTasks = taskManager.getAllTasks();
-            }
-
-            view.setTasks(filteredTasks);
+            view.setTasks(taskManager.query(currentQuery()));
         } catch (Exception e) {
             view.showErrorMessage("Error applying filter: " + e.getMessage());
         }
@@ -66,28 +63,58 @@ public class TaskController {
      * Handles sort change
      */
     public void handleSortChange() {
-        String sort = view.getSortSelection();
-
         try {
-            List<Task> sortedTasks;
-
-            switch (sort) {
-                case "Due Date":
-                    sortedTasks = taskManager.sortTasksByDueDate();
-                    break;
-                case "Priority":
-                    sortedTasks = taskManager.sortTasksByPriority();
-                    break;
-                default:
-                    sortedTasks = taskManager.getAllTasks();
-            }
-
-            view.setTasks(sortedTasks);
+            view.setTasks(taskManager.query(currentQuery()));
         } catch (Exception e) {
             view.showErrorMessage("Error applying sort: " + e.getMessage());
         }
     }
 
+    /**
+     * Handles a change to the search text
+     */
+    public void handleSearchChange() {
+        try {
+            view.setTasks(taskManager.query(currentQuery()));
+        } catch (Exception e) {
+            view.showErrorMessage("Error searching tasks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Builds a query combining the selected filter, search text and sort order
+     */
+    private TaskQuery currentQuery() {
+        TaskQuery query = new TaskQuery().search(view.getSearchText());
+
+        switch (view.getFilterSelection()) {
+            case "Complete":
+                query.status(TaskStatus.COMPLETE);
+                break;
+            case "Incomplete":
+                query.status(TaskStatus.INCOMPLETE);
+                break;
+            case "High Priority":
+                query.priority(PriorityLevel.URGENT);
+                break;
+            default:
+                break;
+        }
+
+        switch (view.getSortSelection()) {
+            case "Due Date":
+                query.orderBy(TaskQuery.SortKey.DUE_DATE, false);
+                break;
+            case "Priority":
+                query.orderBy(TaskQuery.SortKey.PRIORITY, true);
+                break;
+            default:
+                break;
+        }
+
+        return query;
+    }
+
     /**
      * Handles add task button click
      */
@@ -122,7 +149,7 @@ public class TaskController {
             if (result == JOptionPane.YES_OPTION) {
                 try {
                     if (taskManager.deleteTask(selectedTask)) {
-                        loadTasks();
+                        showTasks();
                     }
                 } catch (Exception e) {
                     view.showErrorMessage("Error deleting task: " + e.getMessage());
@@ -151,7 +178,7 @@ public class TaskController {
                     task.getPriority()
             );
 
-            loadTasks();
+            showTasks();
         } catch (Exception e) {
             view.showErrorMessage("Error adding task: " + e.getMessage());
         }
@@ -169,12 +196,23 @@ public class TaskController {
             }
 
             taskManager.updateTask(task);
-            loadTasks();
+            showTasks();
         } catch (Exception e) {
             view.showErrorMessage("Error updating task: " + e.getMessage());
         }
     }
 
+    /**
+     * Handles ticking or clearing a task's status checkbox in the table
+     */
+    public void handleStatusChange(Task task, boolean complete) {
+        task.setStatus(complete ? TaskStatus.COMPLETE : TaskStatus.INCOMPLETE);
+        if (!taskManager.updateTask(task)) {
+            view.showErrorMessage("Error saving the status of \"" + task.getTitle() + "\".");
+        }
+        showTasks();
+    }
+
     /**
      * Handles export menu item click
      */
@@ -203,16 +241,83 @@ public class TaskController {
     }
 
     /**
-     * Handles importing tasks
+     * Handles importing tasks. The import runs off the event dispatch thread
+     * with the view disabled, so the window keeps painting its progress while
+     * the task manager changes underneath it.
      */
     public void handleImportTasks(String filename) {
-        try {
-            List<Task> importedTasks = taskManager.importTasks(filename);
-            view.setTasks(importedTasks);
-            view.showSuccessMessage("Imported " + importedTasks.size() + " tasks from " + filename);
-        } catch (Exception e) {
-            view.showErrorMessage("Error importing tasks: " + e.getMessage());
-        }
+        view.setBusy(true);
+
+        new SwingWorker<List<Task>, String>() {
+            // Written by the import thread, read in done() after get()
+            private int rowErrors;
+            private int duplicates;
+            private final List<String> firstProblems = new ArrayList<>();
+
+            @Override
+            protected List<Task> doInBackground() throws Exception {
+                return taskManager.importTasks(filename, new TaskImportPipeline.Listener() {
+                    @Override
+                    public void onProgress(long rowsRead, long rowsImported) {
+                        publish("Importing: read " + rowsRead + " rows, imported " + rowsImported);
+                    }
+
+                    @Override
+                    public void onRowError(int lineNumber, String row, String message) {
+                        TaskImportPipeline.LOGGING_LISTENER.onRowError(lineNumber, row, message);
+                        rowErrors++;
+                        report("Line " + lineNumber + ": " + message);
+                    }
+
+                    @Override
+                    public void onDuplicate(int lineNumber, String row) {
+                        TaskImportPipeline.LOGGING_LISTENER.onDuplicate(lineNumber, row);
+                        duplicates++;
+                        report("Line " + lineNumber + ": skipped as a duplicate");
+                    }
+                });
+            }
+
+            private void report(String problem) {
+                if (firstProblems.size() < MAX_REPORTED_IMPORT_PROBLEMS) {
+                    firstProblems.add(problem);
+                }
+                publish(problem);
+            }
+
+            @Override
+            protected void process(List<String> messages) {
+                view.showStatus(messages.get(messages.size() - 1));
+            }
+
+            @Override
+            protected void done() {
+                view.setBusy(false);
+                view.showStatus("");
+                showTasks(); // Batches persisted before a failure stay imported
+
+                try {
+                    List<Task> importedTasks = get();
+                    StringBuilder summary = new StringBuilder("Imported " + importedTasks.size()
+                            + " tasks from " + filename);
+                    if (rowErrors > 0 || duplicates > 0) {
+                        summary.append("\nSkipped ").append(rowErrors).append(" invalid rows and ")
+                                .append(duplicates).append(" duplicates:");
+                        for (String problem : firstProblems) {
+                            summary.append("\n").append(problem);
+                        }
+                        if (rowErrors + duplicates > firstProblems.size()) {
+                            summary.append("\n...");
+                        }
+                    }
+                    view.showSuccessMessage(summary.toString());
+                } catch (ExecutionException e) {
+                    view.showErrorMessage("Error importing tasks: " + e.getCause().getMessage());
+                } catch (Exception e) {
+                    view.showErrorMessage("Error importing tasks: " + e.getMessage());
+                }
+            }
+        }.execute();
     }
 
     /**
@@ -229,6 +334,19 @@ public class TaskController {
         }
     }
 
+    /**
+     * Handles switch user menu item click. The session ends without asking,
+     * but its tasks stay warm, so logging back in with the password skips
+     * reloading them.
+     */
+    public void handleSwitchUser() {
+        taskManager.logout();
+        view.dispose();
+
+        LoginView loginView = new LoginView();
+        loginView.setVisible(true);
+    }
+
     /**
      * Handles toggle theme menu item click
      */
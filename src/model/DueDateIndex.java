@@ -0,0 +1,96 @@
+// model/DueDateIndex.java
+package model;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Orders tasks by due date, so a date range is found in O(log N + k) and
+ * tasks come out in due date order without sorting. Tasks due at the same
+ * time are kept in task ID order; tasks without a due date are kept apart and
+ * come after every dated task.
+ */
+public class DueDateIndex {
+    private final NavigableMap<LocalDateTime, NavigableMap<Integer, Task>> dated = new TreeMap<>();
+    private final NavigableMap<Integer, Task> undated = new TreeMap<>();
+    private final Map<Task, LocalDateTime> filedUnder = new IdentityHashMap<>();
+    private int size;
+
+    public void add(Task task) {
+        LocalDateTime dueDate = task.getDueDate();
+        filedUnder.put(task, dueDate);
+        NavigableMap<Integer, Task> bucket = dueDate == null ? undated
+                : dated.computeIfAbsent(dueDate, date -> new TreeMap<>());
+        if (bucket.put(task.getTaskId(), task) == null) {
+            size++;
+        }
+    }
+
+    public void remove(Task task) {
+        if (!filedUnder.containsKey(task)) {
+            return;
+        }
+        LocalDateTime dueDate = filedUnder.remove(task);
+        if (dueDate == null) {
+            undated.remove(task.getTaskId());
+        } else {
+            NavigableMap<Integer, Task> bucket = dated.get(dueDate);
+            bucket.remove(task.getTaskId());
+            if (bucket.isEmpty()) {
+                dated.remove(dueDate);
+            }
+        }
+        size--;
+    }
+
+    /**
+     * Moves a task to its current due date
+     */
+    public void update(Task task) {
+        if (filedUnder.containsKey(task)) {
+            remove(task);
+            add(task);
+        }
+    }
+
+    public void clear() {
+        dated.clear();
+        undated.clear();
+        filedUnder.clear();
+        size = 0;
+    }
+
+    /**
+     * Gets the tasks due at or after {@code from} and before {@code to}, in
+     * due date order; either bound may be null
+     */
+    public List<Task> between(LocalDateTime from, LocalDateTime to) {
+        NavigableMap<LocalDateTime, NavigableMap<Integer, Task>> range = dated;
+        if (from != null && to != null) {
+            range = from.isBefore(to) ? dated.subMap(from, true, to, false) : Collections.emptyNavigableMap();
+        } else if (from != null) {
+            range = dated.tailMap(from, true);
+        } else if (to != null) {
+            range = dated.headMap(to, false);
+        }
+
+        List<Task> results = new ArrayList<>();
+        for (NavigableMap<Integer, Task> bucket : range.values()) {
+            results.addAll(bucket.values());
+        }
+        return results;
+    }
+
+    /**
+     * Gets every task in due date order, tasks without one last
+     */
+    public List<Task> ordered() {
+        List<Task> results = between(null, null);
+        results.addAll(undated.values());
+        return results;
+    }
+
+    public int size() {
+        return size;
+    }
+}
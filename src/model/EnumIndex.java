@@ -0,0 +1,68 @@
+// model/EnumIndex.java
+package model;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Buckets tasks by an enum-valued field, so every task with a given value is
+ * found without a scan. Buckets list their tasks in task ID order. The index
+ * remembers which bucket each task was filed under, so a task can be moved
+ * after its field has already changed.
+ */
+public class EnumIndex<E extends Enum<E>> {
+    private final Function<Task, E> key;
+    private final EnumMap<E, NavigableMap<Integer, Task>> buckets;
+    private final Map<Task, E> filedUnder = new IdentityHashMap<>();
+
+    public EnumIndex(Class<E> type, Function<Task, E> key) {
+        this.key = key;
+        this.buckets = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            buckets.put(value, new TreeMap<>());
+        }
+    }
+
+    public void add(Task task) {
+        E value = key.apply(task);
+        filedUnder.put(task, value);
+        if (value != null) {
+            buckets.get(value).put(task.getTaskId(), task);
+        }
+    }
+
+    public void remove(Task task) {
+        E value = filedUnder.remove(task);
+        if (value != null) {
+            buckets.get(value).remove(task.getTaskId());
+        }
+    }
+
+    /**
+     * Moves a task to the bucket of its current value
+     */
+    public void update(Task task) {
+        if (filedUnder.containsKey(task)) {
+            remove(task);
+            add(task);
+        }
+    }
+
+    public void clear() {
+        filedUnder.clear();
+        for (NavigableMap<Integer, Task> bucket : buckets.values()) {
+            bucket.clear();
+        }
+    }
+
+    /**
+     * Gets a read-only view of the tasks with the given value
+     */
+    public Collection<Task> get(E value) {
+        return Collections.unmodifiableCollection(buckets.get(value).values());
+    }
+
+    public int count(E value) {
+        return buckets.get(value).size();
+    }
+}
@@ -0,0 +1,160 @@
+// model/SessionCache.java
+package model;
+
+import java.security.SecureRandom;
+import java.util.*;
+
+/**
+ * Keeps recently used users' task sets warm between logins. A login issues an
+ * opaque session token that resumes the session without checking the password
+ * again; logging out invalidates the token but keeps the task set, so the next
+ * password login skips reloading it. At most {@code maxSessions} users are
+ * kept, least recently used first out, and entries idle for longer than
+ * {@code idleMillis} are dropped.
+ */
+public class SessionCache {
+    /**
+     * A user's warm task set and live token, if any
+     */
+    private static class Session {
+        final User user;
+        List<Task> tasks;
+        String token;
+        long lastUsed;
+
+        Session(User user) {
+            this.user = user;
+        }
+    }
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final long idleMillis;
+    private final Map<String, String> usernamesByToken = new HashMap<>();
+    private final LinkedHashMap<String, Session> sessions;
+
+    public SessionCache(int maxSessions, long idleMillis) {
+        this.idleMillis = idleMillis;
+        this.sessions = new LinkedHashMap<String, Session>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Session> eldest) {
+                if (size() > maxSessions) {
+                    usernamesByToken.remove(eldest.getValue().token);
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Creates a cache sized by the {@code todo.session.max} and
+     * {@code todo.session.idleMinutes} system properties
+     */
+    public static SessionCache fromSystemProperties() {
+        return new SessionCache(Integer.getInteger("todo.session.max", 8),
+                Long.getLong("todo.session.idleMinutes", 30) * 60_000);
+    }
+
+    /**
+     * Issues a new token for an authenticated user, replacing any earlier one
+     */
+    public synchronized String open(User user) {
+        expireIdle();
+        Session session = sessions.get(user.getUsername());
+        if (session == null || !session.user.getHashedPassword().equals(user.getHashedPassword())) {
+            // A changed password drops whatever was cached for the old one
+            session = new Session(user);
+            sessions.put(user.getUsername(), session);
+        }
+        usernamesByToken.remove(session.token);
+
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        session.token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        session.lastUsed = System.currentTimeMillis();
+        usernamesByToken.put(session.token, user.getUsername());
+        return session.token;
+    }
+
+    /**
+     * Gets the user of a live token
+     * @return The user, or null if the token is unknown, invalidated or expired
+     */
+    public synchronized User resume(String token) {
+        expireIdle();
+        String username = usernamesByToken.get(token);
+        if (username == null) {
+            return null;
+        }
+
+        Session session = sessions.get(username);
+        session.lastUsed = System.currentTimeMillis();
+        return session.user;
+    }
+
+    /**
+     * Takes the warm task set of a user, leaving none behind
+     * @return The tasks, or null if none are cached
+     */
+    public synchronized List<Task> takeTasks(String username) {
+        expireIdle();
+        Session session = sessions.get(username);
+        if (session == null || session.tasks == null) {
+            return null;
+        }
+
+        List<Task> tasks = session.tasks;
+        session.tasks = null;
+        session.lastUsed = System.currentTimeMillis();
+        return tasks;
+    }
+
+    /**
+     * Returns whether a user's task set is cached
+     */
+    public synchronized boolean hasTasks(String username) {
+        expireIdle();
+        Session session = sessions.get(username);
+        return session != null && session.tasks != null;
+    }
+
+    /**
+     * Keeps a user's task set warm for the next login or resume
+     */
+    public synchronized void putTasks(User user, List<Task> tasks) {
+        Session session = sessions.computeIfAbsent(user.getUsername(), name -> new Session(user));
+        session.tasks = new ArrayList<>(tasks);
+        session.lastUsed = System.currentTimeMillis();
+    }
+
+    /**
+     * Invalidates a token; the user's task set stays warm
+     */
+    public synchronized void invalidate(String token) {
+        String username = usernamesByToken.remove(token);
+        if (username != null) {
+            sessions.get(username).token = null;
+        }
+    }
+
+    /**
+     * Returns the number of users currently cached
+     */
+    public synchronized int size() {
+        expireIdle();
+        return sessions.size();
+    }
+
+    private void expireIdle() {
+        long cutoff = System.currentTimeMillis() - idleMillis;
+        Iterator<Session> iterator = sessions.values().iterator();
+        while (iterator.hasNext()) {
+            Session session = iterator.next();
+            if (session.lastUsed < cutoff) {
+                usernamesByToken.remove(session.token);
+                iterator.remove();
+            }
+        }
+    }
+}
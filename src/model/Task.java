@@ -3,11 +3,31 @@ package model;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents a task in the todo list
  */
 public class Task implements Serializable {
+    /**
+     * Fields whose changes are reported to {@link ChangeListener}s
+     */
+    public enum Field {
+        TITLE,
+        DESCRIPTION,
+        DUE_DATE,
+        STATUS,
+        PRIORITY
+    }
+
+    /**
+     * Notified after a field is changed through a setter, e.g. to keep an index current
+     */
+    public interface ChangeListener {
+        void taskChanged(Task task, Field field);
+    }
+
     private int taskId;
     private String userId;
     private String title;
@@ -16,6 +36,7 @@ public class Task implements Serializable {
     private TaskStatus status;
     private LocalDateTime createdAt;
     private PriorityLevel priority;
+    private transient List<ChangeListener> listeners;
 
     public Task(int taskId, String userId, String title, String description,
                 LocalDateTime dueDate, TaskStatus status, LocalDateTime createdAt,
@@ -40,10 +61,44 @@ public class Task implements Serializable {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public PriorityLevel getPriority() { return priority; }
 
-    public void setTitle(String title) { this.title = title; }
-    public void setDescription(String description) { this.description = description; }
-    public void setDueDate(LocalDateTime dueDate) { this.dueDate = dueDate; }
-    public void setStatus(TaskStatus status) { this.status = status; }
-    public void setPriority(PriorityLevel priority) { this.priority = priority; }
+    public void setTitle(String title) { this.title = title; fireChange(Field.TITLE); }
+    public void setDescription(String description) { this.description = description; fireChange(Field.DESCRIPTION); }
+    public void setDueDate(LocalDateTime dueDate) { this.dueDate = dueDate; fireChange(Field.DUE_DATE); }
+    public void setStatus(TaskStatus status) { this.status = status; fireChange(Field.STATUS); }
+    public void setPriority(PriorityLevel priority) { this.priority = priority; fireChange(Field.PRIORITY); }
+
+    /**
+     * Sets a lazily decoded description without reporting a change
+     */
+    protected void initDescription(String description) { this.description = description; }
+
+    /**
+     * Sets a lazily decoded due date without reporting a change
+     */
+    protected void initDueDate(LocalDateTime dueDate) { this.dueDate = dueDate; }
+
+    /**
+     * Registers a listener for changes made through the setters
+     */
+    public void addChangeListener(ChangeListener listener) {
+        if (listeners == null) {
+            listeners = new ArrayList<>(1);
+        }
+        listeners.add(listener);
+    }
+
+    public void removeChangeListener(ChangeListener listener) {
+        if (listeners != null) {
+            listeners.remove(listener);
+        }
+    }
+
+    private void fireChange(Field field) {
+        if (listeners != null) {
+            for (ChangeListener listener : new ArrayList<>(listeners)) {
+                listener.taskChanged(this, field);
+            }
+        }
+    }
 }
 
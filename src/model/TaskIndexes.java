@@ -0,0 +1,209 @@
+// model/TaskIndexes.java
+package model;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Secondary indexes over a user's tasks. Indexed tasks are watched through
+ * {@link Task.ChangeListener}, so a setter call anywhere, such as an edit in
+ * the task table, moves the task to its new bucket right away.
+ * <p>
+ * The due date and text indexes are built on first use, since building them
+ * decodes the due dates or descriptions of every lazily loaded task.
+ * <p>
+ * Every change to the indexed tasks, including edits of fields no index
+ * covers, bumps a version number, so results computed from the tasks can be
+ * reused until it changes.
+ */
+public class TaskIndexes implements Task.ChangeListener {
+    private final EnumIndex<TaskStatus> byStatus = new EnumIndex<>(TaskStatus.class, Task::getStatus);
+    private final EnumIndex<PriorityLevel> byPriority = new EnumIndex<>(PriorityLevel.class, Task::getPriority);
+    private final Set<Task> indexed = Collections.newSetFromMap(new IdentityHashMap<>());
+    private DueDateIndex byDueDate;
+    private TextIndex byText;
+    private long version;
+
+    public void add(Task task) {
+        if (indexed.add(task)) {
+            version++;
+            byStatus.add(task);
+            byPriority.add(task);
+            if (byDueDate != null) {
+                byDueDate.add(task);
+            }
+            if (byText != null) {
+                byText.add(task);
+            }
+            task.addChangeListener(this);
+        }
+    }
+
+    public void addAll(Collection<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    public void remove(Task task) {
+        if (indexed.remove(task)) {
+            version++;
+            byStatus.remove(task);
+            byPriority.remove(task);
+            if (byDueDate != null) {
+                byDueDate.remove(task);
+            }
+            if (byText != null) {
+                byText.remove(task);
+            }
+            task.removeChangeListener(this);
+        }
+    }
+
+    /**
+     * Drops every task, detaching from them so they can be handed elsewhere
+     */
+    public void clear() {
+        for (Task task : indexed) {
+            task.removeChangeListener(this);
+        }
+        indexed.clear();
+        version++;
+        byStatus.clear();
+        byPriority.clear();
+        byDueDate = null;
+        byText = null;
+    }
+
+    @Override
+    public void taskChanged(Task task, Task.Field field) {
+        version++;
+        if (field == Task.Field.STATUS) {
+            byStatus.update(task);
+        } else if (field == Task.Field.PRIORITY) {
+            byPriority.update(task);
+        } else if (field == Task.Field.DUE_DATE && byDueDate != null) {
+            byDueDate.update(task);
+        } else if ((field == Task.Field.TITLE || field == Task.Field.DESCRIPTION) && byText != null) {
+            byText.update(task);
+        }
+    }
+
+    /**
+     * Gets a number that changes whenever the indexed tasks change
+     */
+    public long version() {
+        return version;
+    }
+
+    public Collection<Task> withStatus(TaskStatus status) {
+        return byStatus.get(status);
+    }
+
+    public Collection<Task> withPriority(PriorityLevel priority) {
+        return byPriority.get(priority);
+    }
+
+    /**
+     * Gets the tasks due at or after {@code from} and before {@code to}, in
+     * due date order; either bound may be null
+     */
+    public List<Task> dueBetween(LocalDateTime from, LocalDateTime to) {
+        return byDueDate().between(from, to);
+    }
+
+    /**
+     * Gets every task in due date order, tasks without one last
+     */
+    public List<Task> byDueDateOrder() {
+        return byDueDate().ordered();
+    }
+
+    /**
+     * Gets the tasks with a word starting with each of the terms, in task ID order
+     */
+    public List<Task> search(List<String> terms) {
+        return byText().search(terms);
+    }
+
+    /**
+     * Gets the tasks with words spelled like the terms, most similar first
+     * @see TextIndex#fuzzySearch
+     */
+    public List<Task> fuzzySearch(List<String> terms, double minSimilarity, int limit) {
+        return byText().fuzzySearch(terms, minSimilarity, limit);
+    }
+
+    private TextIndex byText() {
+        if (byText == null) {
+            byText = new TextIndex();
+            for (Task task : indexed) {
+                byText.add(task);
+            }
+        }
+        return byText;
+    }
+
+    private DueDateIndex byDueDate() {
+        if (byDueDate == null) {
+            byDueDate = new DueDateIndex();
+            for (Task task : indexed) {
+                byDueDate.add(task);
+            }
+        }
+        return byDueDate;
+    }
+
+    /**
+     * Picks the smallest indexed set holding every possible match of a query
+     * @return The candidates, or null if no index narrows the query
+     */
+    public Collection<Task> candidates(TaskQuery query) {
+        return smallest(query, query.getSearchTerms() != null ? search(query.getSearchTerms()) : null);
+    }
+
+    /**
+     * Runs a query over its smallest candidate set, or over {@code all} if no
+     * index narrows it. Search terms are checked against the words stored in
+     * the text index, and not at all when the candidates came from it.
+     */
+    public List<Task> run(TaskQuery query, Collection<Task> all) {
+        if (query.getSearchTerms() == null) {
+            Collection<Task> candidates = smallest(query, null);
+            return query.run(candidates != null ? candidates : all);
+        }
+
+        List<Task> found = search(query.getSearchTerms());
+        Collection<Task> candidates = smallest(query, found);
+        return query.run(candidates, candidates == found ? null : byText()::indexedWordsOf);
+    }
+
+    /**
+     * Picks the smallest of the index buckets a query narrows to and the
+     * tasks already found for its search terms
+     */
+    private Collection<Task> smallest(TaskQuery query, Collection<Task> found) {
+        Collection<Task> best = null;
+
+        if (query.getStatus() != null) {
+            best = withStatus(query.getStatus());
+        }
+        if (query.getPriorities() != null && query.getPriorities().size() == 1) {
+            Collection<Task> bucket = withPriority(query.getPriorities().iterator().next());
+            if (best == null || bucket.size() < best.size()) {
+                best = bucket;
+            }
+        }
+        if (found != null && (best == null || found.size() < best.size())) {
+            best = found;
+        }
+        if (query.getDueFrom() != null || query.getDueTo() != null) {
+            Collection<Task> range = dueBetween(query.getDueFrom(), query.getDueTo());
+            if (best == null || range.size() < best.size()) {
+                best = range;
+            }
+        }
+
+        return best;
+    }
+}
@@ -1,44 +1,160 @@
 // model/TaskManager.java
 package model;
 
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
-import org.mindrot.jbcrypt.BCrypt;
 import utils.CSVFileManager;
+import utils.PasswordHasher;
+import utils.StorageBackend;
+import utils.TaskImportPipeline;
 
 /**
  * Manages tasks and user authentication
  */
 public class TaskManager {
+    private static final double FUZZY_MIN_SIMILARITY = fuzziness(0.35);
+    private static final int QUERY_CACHE_SIZE = Integer.getInteger("todo.queryCache.size", 16);
+
     private User currentUser;
     private final List<Task> tasks;
-//    private final CSVFileManager fileManager;
+    private final TaskIndexes indexes = new TaskIndexes();
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final SessionCache sessions;
+    private String sessionToken;
+
+    // Results of recent queries, all computed at queryCacheVersion
+    private final Map<TaskQuery, List<Task>> queryCache = new LinkedHashMap<TaskQuery, List<Task>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<TaskQuery, List<Task>> eldest) {
+            return size() > QUERY_CACHE_SIZE;
+        }
+    };
+    private long queryCacheVersion = -1;
+    private long queryCacheHits;
+    private long queryCacheMisses;
 
+    /**
+     * Creates a task manager on the storage backend selected at startup
+     */
     public TaskManager() {
-//        fileManager = new CSVFileManager();
+        this(StorageBackend.fromSystemProperty().getTaskRepository(),
+                StorageBackend.fromSystemProperty().getUserRepository(),
+                StorageBackend.fromSystemProperty().getSessionCache());
+    }
+
+    public TaskManager(TaskRepository taskRepository, UserRepository userRepository) {
+        this(taskRepository, userRepository, SessionCache.fromSystemProperties());
+    }
+
+    public TaskManager(TaskRepository taskRepository, UserRepository userRepository, SessionCache sessions) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.sessions = sessions;
         tasks = new ArrayList<>();
     }
 
     /**
-     * Authenticates a user
+     * Authenticates a user. The user's tasks are loaded while the password is
+     * being checked, and dropped if it does not match.
      * @param username The username to authenticate
      * @param password The password to authenticate
      * @return true if authentication succeeds, false otherwise
      */
     public boolean login(String username, String password) throws Exception {
-        List<User> users = CSVFileManager.loadUsers();
-
-        for (User user : users) {
-            if (user.getHashedPassword().equals(BCrypt.hashpw(password,
-                    user.getHashedPassword())) && user.getUsername().equals(username)) {
-                currentUser = user;
-                loadUserTasks();
-                return true;
+        // One indexed lookup, then a single bcrypt check against that user's hash
+        User user = userRepository.findByUsername(username);
+        if (user == null) {
+            // Answer as slowly as for a wrong password, so timing does not reveal taken names
+            return PasswordHasher.verifyUnknownUser(password);
+        }
+        CompletableFuture<Boolean> verified = PasswordHasher.verifyAsync(password, user.getHashedPassword());
+
+        // Load the user's tasks on this thread while bcrypt runs on the hashing pool
+        List<Task> prefetched = null;
+        if (!sessions.hasTasks(username)) {
+            try {
+                prefetched = taskRepository.loadUserTasks(username);
+            } catch (Exception e) {
+                // Loaded again once the password checks out
+                System.err.println("Error prefetching tasks: " + e.getMessage());
             }
         }
 
-        return false;
+        if (!PasswordHasher.await(verified)) {
+            return false; // Prefetched tasks are dropped
+        }
+
+        currentUser = rehashIfStale(user, password);
+        if (prefetched == null) {
+            startSession();
+        } else {
+            sessionToken = sessions.open(currentUser);
+            replaceTasks(prefetched);
+        }
+        return true;
+    }
+
+    /**
+     * Resumes a session from its token without checking the password again
+     * @return true if the token is still valid
+     */
+    public boolean resume(String token) throws Exception {
+        User user = sessions.resume(token);
+        if (user == null) {
+            return false;
+        }
+
+        currentUser = user;
+        sessionToken = token;
+        loadWarmTasks();
+        return true;
+    }
+
+    /**
+     * Issues a session token and loads the user's tasks, from the session cache if still warm
+     */
+    private void startSession() throws Exception {
+        sessionToken = sessions.open(currentUser);
+        loadWarmTasks();
+    }
+
+    private void loadWarmTasks() throws Exception {
+        List<Task> warmTasks = sessions.takeTasks(currentUser.getUsername());
+        if (warmTasks == null) {
+            loadUserTasks();
+        } else {
+            replaceTasks(warmTasks);
+        }
+    }
+
+    /**
+     * Gets the token that resumes the current session
+     */
+    public String getSessionToken() {
+        return sessionToken;
+    }
+
+    /**
+     * Upgrades a hash made with an outdated bcrypt cost, while the password is at hand
+     */
+    private User rehashIfStale(User user, String password) {
+        if (!PasswordHasher.needsRehash(user.getHashedPassword())) {
+            return user;
+        }
+
+        try {
+            User rehashed = new User(user.getUsername(), hashPassword(password));
+            userRepository.update(rehashed);
+            return rehashed;
+        } catch (Exception e) {
+            // The old hash still works, so the login goes ahead
+            System.err.println("Error rehashing password: " + e.getMessage());
+            return user;
+        }
     }
 
     /**
@@ -48,17 +164,16 @@ public class TaskManager {
      * @return true if registration succeeds, false otherwise
      */
     public boolean register(String username, String password) throws Exception {
-        // Check if username already exists
-        List<User> users = CSVFileManager.loadUsers();
-        for (User user : users) {
-            if (user.getUsername().equals(username)) {
-                return false; // Username already taken
-            }
+        // Cheap check first, so a taken name does not cost a bcrypt hash
+        if (userRepository.findByUsername(username) != null) {
+            return false; // Username already taken
         }
 
-        // Create new user
+        // Create new user; the repository rejects a name claimed meanwhile
         User newUser = new User(username, hashPassword(password));
-        CSVFileManager.saveUser(newUser);
+        if (!userRepository.saveIfAbsent(newUser)) {
+            return false;
+        }
         currentUser = newUser;
         return true;
     }
@@ -66,9 +181,9 @@ public class TaskManager {
     /**
      * Creates a hash of the password
      */
-    private String hashPassword(String password) {
-        // Generate a secure salt and hash the password
-        return BCrypt.hashpw(password, BCrypt.gensalt());
+    private String hashPassword(String password) throws Exception {
+        // Salted bcrypt at the cost calibrated for this machine
+        return PasswordHasher.hash(password);
     }
 
     /**
@@ -76,14 +191,15 @@ public class TaskManager {
      */
     public Task createTask(String title, String description, LocalDateTime dueDate,
                            PriorityLevel priority) {
-        int taskId = generateTaskId();
-        LocalDateTime createdAt = LocalDateTime.now();
-        Task task = new Task(taskId, currentUser.getUsername(), title, description,
-                dueDate, TaskStatus.INCOMPLETE, createdAt, priority);
-
         try {
-            CSVFileManager.saveTask(task);
+            int taskId = generateTaskId();
+            LocalDateTime createdAt = LocalDateTime.now();
+            Task task = new Task(taskId, currentUser.getUsername(), title, description,
+                    dueDate, TaskStatus.INCOMPLETE, createdAt, priority);
+
+            taskRepository.create(task);
             tasks.add(task);
+            indexes.add(task);
             return task;
         } catch (Exception e) {
             System.err.println("Error saving task: " + e.getMessage());
@@ -95,29 +211,24 @@ public class TaskManager {
      * Loads all tasks for the current user
      */
     public void loadUserTasks() throws Exception {
-        tasks.clear();
-        List<Task> allTasks = CSVFileManager.loadTasks();
+        replaceTasks(taskRepository.loadUserTasks(currentUser.getUsername()));
+    }
 
-        for (Task task : allTasks) {
-            if (task.getUserId().equals(currentUser.getUsername())) {
-                tasks.add(task);
-            }
-        }
+    /**
+     * Swaps in a new task set and indexes it
+     */
+    private void replaceTasks(Collection<Task> loaded) {
+        indexes.clear();
+        tasks.clear();
+        tasks.addAll(loaded);
+        indexes.addAll(loaded);
     }
 
     /**
      * Generates a unique task ID
      */
-    private int generateTaskId() {
-        int maxId = 0;
-
-        for (Task task : tasks) {
-            if (task.getTaskId() > maxId) {
-                maxId = task.getTaskId();
-            }
-        }
-
-        return maxId + 1;
+    private int generateTaskId() throws Exception {
+        return taskRepository.nextTaskId();
     }
 
     /**
@@ -125,9 +236,7 @@ public class TaskManager {
      */
     public boolean updateTask(Task task) {
         try {
-            // In a real application, we would update the file directly
-            // For simplicity, we'll just reload all tasks
-            saveAllTasks();
+            taskRepository.update(task);
             return true;
         } catch (Exception e) {
             System.err.println("Error updating task: " + e.getMessage());
@@ -140,8 +249,9 @@ public class TaskManager {
      */
     public boolean deleteTask(Task task) {
         tasks.remove(task);
+        indexes.remove(task);
         try {
-            saveAllTasks();
+            taskRepository.delete(task);
             return true;
         } catch (Exception e) {
             System.err.println("Error deleting task: " + e.getMessage());
@@ -150,14 +260,7 @@ public class TaskManager {
     }
 
     /**
-     * Saves all tasks to file
-     */
-    private void saveAllTasks() throws Exception {
-        CSVFileManager.saveTasks(tasks);
-    }
-
-    /**
-     * Exports tasks to CSV
+     * Exports tasks to CSV, JSON Lines or binary, depending on the file extension
      */
     public void exportTasks(String filename, boolean includeDescription,
                             boolean includeDueDate, boolean includePriority) throws Exception {
@@ -168,77 +271,171 @@ public class TaskManager {
      * Imports tasks from CSV
      */
     public List<Task> importTasks(String filename) throws Exception {
-        List<Task> importedTasks = CSVFileManager.importTasks(filename, currentUser.getUsername());
+        return importTasks(filename, TaskImportPipeline.LOGGING_LISTENER);
+    }
 
-        // Add imported tasks to our list and save
-        for (Task task : importedTasks) {
-            if (!tasks.contains(task)) {
-                tasks.add(task);
-            }
-        }
+    /**
+     * Imports tasks from CSV, reporting progress and row errors to the listener.
+     * Rows duplicating an existing task are skipped.
+     */
+    public List<Task> importTasks(String filename, TaskImportPipeline.Listener listener) throws Exception {
+        List<Task> importedTasks = new ArrayList<>();
+
+        new TaskImportPipeline(currentUser.getUsername(), tasks, taskRepository::nextTaskId, batch -> {
+            taskRepository.createAll(batch);
+            tasks.addAll(batch);
+            indexes.addAll(batch);
+            importedTasks.addAll(batch);
+        }, listener).run(Paths.get(filename));
 
-        saveAllTasks();
         return importedTasks;
     }
 
     /**
-     * Filters tasks by completion status
+     * Runs a query over the current user's tasks, starting from an index
+     * bucket when one narrows it. The results of the last
+     * {@code todo.queryCache.size} (default 16) distinct queries are kept until
+     * the tasks change, so switching back and forth between views is served
+     * from the cache.
      */
-    public List<Task> filterTasksByStatus(TaskStatus status) {
-        List<Task> filteredTasks = new ArrayList<>();
+    public List<Task> query(TaskQuery query) {
+        if (queryCacheVersion != indexes.version()) {
+            queryCache.clear();
+            queryCacheVersion = indexes.version();
+        }
 
-        for (Task task : tasks) {
-            if (task.getStatus() == status) {
-                filteredTasks.add(task);
-            }
+        List<Task> results = queryCache.get(query);
+        if (results != null) {
+            queryCacheHits++;
+        } else {
+            queryCacheMisses++;
+            results = indexes.run(query, tasks);
+            // Queries are mutable, so the cache keeps its own copy of the key
+            queryCache.put(query.copy(), results);
         }
+        return new ArrayList<>(results);
+    }
+
+    /**
+     * Gets a number that changes whenever the current user's tasks change
+     */
+    public long getVersion() {
+        return indexes.version();
+    }
 
-        return filteredTasks;
+    public long getQueryCacheHits() {
+        return queryCacheHits;
+    }
+
+    public long getQueryCacheMisses() {
+        return queryCacheMisses;
+    }
+
+    /**
+     * Filters tasks by completion status
+     */
+    public List<Task> filterTasksByStatus(TaskStatus status) {
+        return query(new TaskQuery().status(status));
     }
 
     /**
      * Filters tasks by priority
      */
     public List<Task> filterTasksByPriority(PriorityLevel priority) {
-        List<Task> filteredTasks = new ArrayList<>();
+        return query(new TaskQuery().priority(priority));
+    }
 
-        for (Task task : tasks) {
-            if (task.getPriority() == priority) {
-                filteredTasks.add(task);
+    /**
+     * Sorts tasks by due date, tasks without one last
+     */
+    public List<Task> sortTasksByDueDate() {
+        return indexes.byDueDateOrder();
+    }
+
+    /**
+     * Gets incomplete tasks whose due date has passed, most overdue first
+     */
+    public List<Task> getOverdueTasks() {
+        return incomplete(indexes.dueBetween(null, LocalDateTime.now()));
+    }
+
+    /**
+     * Gets incomplete tasks due within the next hours, soonest first
+     */
+    public List<Task> getTasksDueWithin(int hours) {
+        LocalDateTime now = LocalDateTime.now();
+        return incomplete(indexes.dueBetween(now, now.plusHours(hours)));
+    }
+
+    /**
+     * Gets tasks due at or after {@code from} and before {@code to}, in due
+     * date order; either bound may be null
+     */
+    public List<Task> getTasksDueBetween(LocalDateTime from, LocalDateTime to) {
+        return indexes.dueBetween(from, to);
+    }
+
+    /**
+     * Reads the {@code todo.search.fuzziness} property, falling back to the
+     * default when it is not a number between 0 and 1
+     */
+    private static double fuzziness(double defaultValue) {
+        String value = System.getProperty("todo.search.fuzziness");
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            double fuzziness = Double.parseDouble(value);
+            if (fuzziness >= 0 && fuzziness <= 1) {
+                return fuzziness;
             }
+        } catch (NumberFormatException e) {
+            // Reported below
         }
+        System.err.println("Ignoring invalid todo.search.fuzziness: " + value);
+        return defaultValue;
+    }
 
-        return filteredTasks;
+    private static List<Task> incomplete(List<Task> tasks) {
+        tasks.removeIf(task -> task.getStatus() != TaskStatus.INCOMPLETE);
+        return tasks;
     }
 
     /**
-     * Sorts tasks by due date
+     * Finds tasks despite misspellings, e.g. "invioce" finds "Invoice client".
+     * The minimum word similarity is set by the {@code todo.search.fuzziness}
+     * system property, between 0 and 1 (default 0.35).
+     * @param limit The maximum number of tasks to return
+     * @return The tasks, most similar first
      */
-    public List<Task> sortTasksByDueDate() {
-        List<Task> sortedTasks = new ArrayList<>(tasks);
-        sortedTasks.sort(Comparator.comparing(Task::getDueDate));
-        return sortedTasks;
+    public List<Task> fuzzySearch(String text, int limit) {
+        return indexes.fuzzySearch(TextIndex.tokenize(text), FUZZY_MIN_SIMILARITY, limit);
     }
 
     /**
-     * Sorts tasks by priority
+     * Sorts tasks by priority, most urgent first, straight from the priority index
      */
     public List<Task> sortTasksByPriority() {
-        List<Task> sortedTasks = new ArrayList<>(tasks);
-        // Define priority order
-        Map<PriorityLevel, Integer> priorityOrder = new HashMap<>();
-        priorityOrder.put(PriorityLevel.LOW, 0);
-        priorityOrder.put(PriorityLevel.MEDIUM, 1);
-        priorityOrder.put(PriorityLevel.HIGH, 2);
-        priorityOrder.put(PriorityLevel.URGENT, 3);
-
-        sortedTasks.sort((t1, t2) ->
-                Integer.compare(priorityOrder.get(t2.getPriority()),
-                        priorityOrder.get(t1.getPriority())));
-
+        List<Task> sortedTasks = new ArrayList<>(tasks.size());
+        PriorityLevel[] priorities = PriorityLevel.values();
+        for (int i = priorities.length - 1; i >= 0; i--) {
+            sortedTasks.addAll(indexes.withPriority(priorities[i]));
+        }
         return sortedTasks;
     }
 
+    /**
+     * Gets the most urgent incomplete tasks: highest priority first, then
+     * soonest due, tasks without a due date last within their priority. Only
+     * the best {@code count} are kept while scanning, in O(N log count).
+     */
+    public List<Task> getNextTasks(int count) {
+        return query(new TaskQuery().status(TaskStatus.INCOMPLETE)
+                .orderBy(TaskQuery.SortKey.PRIORITY, true)
+                .orderBy(TaskQuery.SortKey.DUE_DATE, false)
+                .limit(count));
+    }
+
     /**
      * Gets all tasks
      */
@@ -254,10 +451,30 @@ public class TaskManager {
     }
 
     /**
-     * Logs out the current user
+     * Logs out the current user, invalidating the session token. The task set
+     * stays warm in the session cache for a quick next login.
      */
     public void logout() {
+        String token = suspend();
+        if (token != null) {
+            sessions.invalidate(token);
+        }
+    }
+
+    /**
+     * Steps away from the current session without ending it: the task set
+     * stays warm and the token keeps working with {@link #resume} until it
+     * expires or is invalidated
+     * @return The token that resumes the session, or null if nobody was logged in
+     */
+    public String suspend() {
+        String token = sessionToken;
+        if (currentUser != null) {
+            sessions.putTasks(currentUser, tasks);
+        }
+        sessionToken = null;
         currentUser = null;
-        tasks.clear();
+        replaceTasks(Collections.emptyList());
+        return token;
     }
 }
\ No newline at end of file
@@ -0,0 +1,341 @@
+// model/TaskQuery.java
+package model;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import utils.ParallelQueries;
+
+/**
+ * A combined filter, ordering and page over a set of tasks, evaluated in one
+ * pass. Every predicate left unset matches all tasks. Without an ordering the
+ * tasks keep the order they were given in; ties in an ordering are broken by
+ * task ID. With a limit, only the best {@code offset + limit} matches are kept
+ * while scanning.
+ * <pre>
+ * new TaskQuery().status(TaskStatus.INCOMPLETE).text("report")
+ *         .orderBy(TaskQuery.SortKey.DUE_DATE, false).limit(20)
+ * </pre>
+ */
+public class TaskQuery {
+    /**
+     * Keys tasks can be ordered by. Tasks without a due date sort last.
+     */
+    public enum SortKey {
+        DUE_DATE,
+        PRIORITY,
+        TITLE,
+        CREATED_AT
+    }
+
+    private TaskStatus status;
+    private EnumSet<PriorityLevel> priorities;
+    private LocalDateTime dueFrom;
+    private LocalDateTime dueTo;
+    private String text;
+    private List<String> searchTerms;
+    private Comparator<Task> order;
+    private final List<Map.Entry<SortKey, Boolean>> orderKeys = new ArrayList<>();
+    private int offset;
+    private int limit = Integer.MAX_VALUE;
+
+    /**
+     * Matches tasks with the given status
+     */
+    public TaskQuery status(TaskStatus status) {
+        this.status = status;
+        return this;
+    }
+
+    /**
+     * Matches tasks with any of the given priorities
+     */
+    public TaskQuery priority(PriorityLevel first, PriorityLevel... rest) {
+        this.priorities = EnumSet.of(first, rest);
+        return this;
+    }
+
+    /**
+     * Matches tasks due at or after {@code from} and before {@code to};
+     * either bound may be null. Tasks without a due date never match.
+     */
+    public TaskQuery dueBetween(LocalDateTime from, LocalDateTime to) {
+        this.dueFrom = from;
+        this.dueTo = to;
+        return this;
+    }
+
+    /**
+     * Matches tasks whose title or description contains the text, ignoring case
+     */
+    public TaskQuery text(String text) {
+        this.text = text == null || text.trim().isEmpty() ? null : text.trim().toLowerCase();
+        return this;
+    }
+
+    /**
+     * Matches tasks with, for every search term, a word in the title or
+     * description starting with that term, ignoring case
+     * @see TextIndex
+     */
+    public TaskQuery search(String terms) {
+        List<String> tokens = TextIndex.tokenize(terms);
+        this.searchTerms = tokens.isEmpty() ? null : tokens;
+        return this;
+    }
+
+    /**
+     * Adds an ordering key; earlier keys take precedence
+     */
+    public TaskQuery orderBy(SortKey key, boolean descending) {
+        Comparator<Task> comparator = comparator(key);
+        if (descending) {
+            comparator = comparator.reversed();
+        }
+        if (key == SortKey.DUE_DATE) {
+            // Missing dates go last in either direction
+            Comparator<Task> byDate = comparator;
+            comparator = (t1, t2) -> {
+                if (t1.getDueDate() == null || t2.getDueDate() == null) {
+                    return Boolean.compare(t1.getDueDate() == null, t2.getDueDate() == null);
+                }
+                return byDate.compare(t1, t2);
+            };
+        }
+        order = order == null ? comparator : order.thenComparing(comparator);
+        orderKeys.add(new AbstractMap.SimpleImmutableEntry<>(key, descending));
+        return this;
+    }
+
+    /**
+     * Skips the first matches
+     */
+    public TaskQuery offset(int offset) {
+        this.offset = Math.max(0, offset);
+        return this;
+    }
+
+    /**
+     * Returns at most this many matches
+     */
+    public TaskQuery limit(int limit) {
+        this.limit = Math.max(0, limit);
+        return this;
+    }
+
+    public TaskStatus getStatus() { return status; }
+    public Set<PriorityLevel> getPriorities() { return priorities; }
+    public LocalDateTime getDueFrom() { return dueFrom; }
+    public LocalDateTime getDueTo() { return dueTo; }
+    public String getText() { return text; }
+    public List<String> getSearchTerms() { return searchTerms; }
+
+    /**
+     * Returns whether a task passes every predicate
+     */
+    public boolean matches(Task task) {
+        return matches(task, TextIndex::wordsOf);
+    }
+
+    /**
+     * Returns whether a task passes every predicate, looking up its words for
+     * the search terms with {@code words}, or skipping the terms if null
+     */
+    private boolean matches(Task task, Function<Task, ? extends Collection<String>> words) {
+        if (status != null && task.getStatus() != status) {
+            return false;
+        }
+        if (priorities != null && !priorities.contains(task.getPriority())) {
+            return false;
+        }
+        if (dueFrom != null || dueTo != null) {
+            LocalDateTime dueDate = task.getDueDate();
+            if (dueDate == null || (dueFrom != null && dueDate.isBefore(dueFrom))
+                    || (dueTo != null && !dueDate.isBefore(dueTo))) {
+                return false;
+            }
+        }
+        if (searchTerms != null && words != null && !TextIndex.matchesAll(words.apply(task), searchTerms)) {
+            return false;
+        }
+        if (text != null) {
+            return contains(task.getTitle()) || contains(task.getDescription());
+        }
+        return true;
+    }
+
+    /**
+     * Runs the query over candidate tasks, e.g. all of a user's tasks or an
+     * index bucket known to hold every possible match. Large collections are
+     * filtered and sorted in parallel; the results are the same either way.
+     * @see ParallelQueries
+     */
+    public List<Task> run(Iterable<Task> candidates) {
+        return run(candidates, TextIndex::wordsOf);
+    }
+
+    /**
+     * Runs the query over candidate tasks whose words are already known, such
+     * as the word sets stored by a {@link TextIndex}
+     * @param words Looks up a task's words, or null if every candidate is
+     *              known to match the search terms
+     */
+    public List<Task> run(Iterable<Task> candidates, Function<Task, ? extends Collection<String>> words) {
+        Predicate<Task> filter = task -> matches(task, words);
+        if (candidates instanceof Collection && ParallelQueries.isWorthIt(((Collection<Task>) candidates).size())) {
+            return runParallel((Collection<Task>) candidates, filter);
+        }
+        return select(candidates, filter);
+    }
+
+    /**
+     * Runs the query on the calling thread
+     */
+    public List<Task> runSequential(Iterable<Task> candidates) {
+        return select(candidates, this::matches);
+    }
+
+    /**
+     * Runs the query on the parallel query pool. Matches keep their candidate
+     * order, and orderings are total thanks to the task ID tie-break, so the
+     * results equal those of {@link #runSequential}.
+     */
+    public List<Task> runParallel(Collection<Task> candidates) {
+        return runParallel(candidates, this::matches);
+    }
+
+    private List<Task> runParallel(Collection<Task> candidates, Predicate<Task> filter) {
+        List<Task> matches = ParallelQueries.invoke(() ->
+                candidates.parallelStream().filter(filter).collect(Collectors.toList()));
+
+        if (order != null && (long) offset + limit >= Integer.MAX_VALUE) {
+            Comparator<Task> order = totalOrder();
+            return page(ParallelQueries.invoke(() ->
+                    matches.parallelStream().sorted(order).collect(Collectors.toList())));
+        }
+        // Paging, or picking the best few with a heap, is cheap once filtered
+        return select(matches, task -> true);
+    }
+
+    private List<Task> select(Iterable<Task> candidates, Predicate<Task> filter) {
+        long wanted = Math.min((long) offset + limit, Integer.MAX_VALUE);
+
+        if (order == null) {
+            List<Task> results = new ArrayList<>();
+            int skipped = 0;
+            for (Task task : candidates) {
+                if (results.size() >= limit) {
+                    break;
+                }
+                if (filter.test(task) && skipped++ >= offset) {
+                    results.add(task);
+                }
+            }
+            return results;
+        }
+
+        Comparator<Task> order = totalOrder();
+
+        if (wanted == Integer.MAX_VALUE) {
+            List<Task> results = new ArrayList<>();
+            for (Task task : candidates) {
+                if (filter.test(task)) {
+                    results.add(task);
+                }
+            }
+            results.sort(order);
+            return page(results);
+        }
+
+        // Keep only the best offset + limit matches, worst on top
+        PriorityQueue<Task> best = new PriorityQueue<>((int) Math.max(1, wanted), order.reversed());
+        for (Task task : candidates) {
+            if (!filter.test(task)) {
+                continue;
+            }
+            if (best.size() < wanted) {
+                best.add(task);
+            } else if (wanted > 0 && order.compare(task, best.peek()) < 0) {
+                best.poll();
+                best.add(task);
+            }
+        }
+
+        List<Task> results = new ArrayList<>(best);
+        results.sort(order);
+        return page(results);
+    }
+
+    /**
+     * Ties fall back to task ID, so every evaluation strategy agrees
+     */
+    private Comparator<Task> totalOrder() {
+        return order.thenComparingInt(Task::getTaskId);
+    }
+
+    /**
+     * Copies the query, e.g. to keep as a cache key while the original may change
+     */
+    public TaskQuery copy() {
+        TaskQuery copy = new TaskQuery();
+        copy.status = status;
+        copy.priorities = priorities == null ? null : EnumSet.copyOf(priorities);
+        copy.dueFrom = dueFrom;
+        copy.dueTo = dueTo;
+        copy.text = text;
+        copy.searchTerms = searchTerms;
+        copy.order = order;
+        copy.orderKeys.addAll(orderKeys);
+        copy.offset = offset;
+        copy.limit = limit;
+        return copy;
+    }
+
+    /**
+     * Queries are equal if they select and order the same tasks the same way
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TaskQuery)) {
+            return false;
+        }
+        TaskQuery other = (TaskQuery) o;
+        return status == other.status && Objects.equals(priorities, other.priorities)
+                && Objects.equals(dueFrom, other.dueFrom) && Objects.equals(dueTo, other.dueTo)
+                && Objects.equals(text, other.text) && Objects.equals(searchTerms, other.searchTerms)
+                && orderKeys.equals(other.orderKeys) && offset == other.offset && limit == other.limit;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(status, priorities, dueFrom, dueTo, text, searchTerms, orderKeys, offset, limit);
+    }
+
+    private List<Task> page(List<Task> sorted) {
+        int from = Math.min(offset, sorted.size());
+        int to = (int) Math.min((long) from + limit, sorted.size());
+        return new ArrayList<>(sorted.subList(from, to));
+    }
+
+    private boolean contains(String value) {
+        return value != null && value.toLowerCase().contains(text);
+    }
+
+    private static Comparator<Task> comparator(SortKey key) {
+        switch (key) {
+            case DUE_DATE:
+                return Comparator.comparing(Task::getDueDate);
+            case PRIORITY:
+                return Comparator.comparing(Task::getPriority);
+            case TITLE:
+                return Comparator.comparing(Task::getTitle, String.CASE_INSENSITIVE_ORDER);
+            default:
+                return Comparator.comparing(Task::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+// model/TaskRepository.java
+package model;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Storage backend for tasks
+ */
+public interface TaskRepository {
+    /**
+     * Loads all tasks owned by a user
+     */
+    List<Task> loadUserTasks(String userId) throws IOException;
+
+    /**
+     * Saves a new task
+     */
+    void create(Task task) throws IOException;
+
+    /**
+     * Saves a batch of new tasks
+     */
+    void createAll(List<Task> tasks) throws IOException;
+
+    /**
+     * Saves changes to an existing task
+     */
+    void update(Task task) throws IOException;
+
+    /**
+     * Removes a task
+     */
+    void delete(Task task) throws IOException;
+
+    /**
+     * Allocates a unique task ID
+     */
+    int nextTaskId() throws IOException;
+}
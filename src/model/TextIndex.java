@@ -0,0 +1,244 @@
+// model/TextIndex.java
+package model;
+
+import java.util.*;
+
+/**
+ * Inverted index of the words in task titles and descriptions. Words are
+ * runs of letters and digits, compared ignoring case. A search matches the
+ * tasks that have, for every search term, a word starting with that term, so
+ * "rep q" finds "Quarterly report".
+ * <p>
+ * Misspelled searches are served by a {@link TrigramIndex} of the indexed
+ * words, built on the first fuzzy search.
+ */
+public class TextIndex {
+    private static final Comparator<Task> BY_TASK_ID = Comparator.comparingInt(Task::getTaskId);
+
+    private final NavigableMap<String, Set<Task>> postings = new TreeMap<>();
+    // Each task's distinct words, in an array list, which scans faster than a set
+    private final Map<Task, List<String>> wordsOf = new IdentityHashMap<>();
+    private TrigramIndex vocabulary;
+
+    /**
+     * Splits text into lowercase words
+     */
+    public static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Gets the distinct words of a task's title and description
+     */
+    public static Set<String> wordsOf(Task task) {
+        Set<String> words = new HashSet<>(tokenize(task.getTitle()));
+        words.addAll(tokenize(task.getDescription()));
+        return words;
+    }
+
+    /**
+     * Gets the words stored for an indexed task, without tokenizing it again
+     */
+    public Collection<String> indexedWordsOf(Task task) {
+        List<String> words = wordsOf.get(task);
+        return words != null ? words : wordsOf(task);
+    }
+
+    public void add(Task task) {
+        List<String> words = new ArrayList<>(wordsOf(task));
+        wordsOf.put(task, words);
+        for (String word : words) {
+            postings.computeIfAbsent(word, w -> {
+                if (vocabulary != null) {
+                    vocabulary.add(w);
+                }
+                return Collections.newSetFromMap(new IdentityHashMap<>(4));
+            }).add(task);
+        }
+    }
+
+    public void remove(Task task) {
+        List<String> words = wordsOf.remove(task);
+        if (words == null) {
+            return;
+        }
+        for (String word : words) {
+            Set<Task> posting = postings.get(word);
+            posting.remove(task);
+            if (posting.isEmpty()) {
+                postings.remove(word);
+                if (vocabulary != null) {
+                    vocabulary.remove(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * Re-reads a task's words after its title or description changed
+     */
+    public void update(Task task) {
+        if (wordsOf.containsKey(task)) {
+            remove(task);
+            add(task);
+        }
+    }
+
+    public void clear() {
+        postings.clear();
+        wordsOf.clear();
+        vocabulary = null;
+    }
+
+    /**
+     * Finds the tasks matching every term, in task ID order
+     */
+    public List<Task> search(List<String> terms) {
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Start from the term with the fewest postings, then only check its tasks
+        String rarest = null;
+        long rarestCount = Long.MAX_VALUE;
+        for (String term : terms) {
+            long count = 0;
+            for (Set<Task> posting : withPrefix(term).values()) {
+                count += posting.size();
+            }
+            if (count < rarestCount) {
+                rarest = term;
+                rarestCount = count;
+            }
+        }
+
+        List<Task> candidates = new ArrayList<>((int) Math.min(rarestCount, Integer.MAX_VALUE));
+        for (Set<Task> posting : withPrefix(rarest).values()) {
+            candidates.addAll(posting);
+        }
+        candidates.sort(BY_TASK_ID);
+
+        // A task with several words starting with the term is listed once per word
+        List<Task> results = new ArrayList<>(candidates.size());
+        Task previous = null;
+        for (Task task : candidates) {
+            if (task != previous && (terms.size() == 1 || matchesAll(wordsOf.get(task), terms))) {
+                results.add(task);
+            }
+            previous = task;
+        }
+        return results;
+    }
+
+    /**
+     * Finds the tasks with words spelled like the terms, most similar first.
+     * A task scores the mean, over the terms, of the similarity of its closest
+     * word to the term, counting terms with no word at least
+     * {@code minSimilarity} similar as 0.
+     * @param limit The maximum number of tasks to return
+     */
+    public List<Task> fuzzySearch(List<String> terms, double minSimilarity, int limit) {
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (vocabulary == null) {
+            vocabulary = new TrigramIndex();
+            for (String word : postings.keySet()) {
+                vocabulary.add(word);
+            }
+        }
+
+        Map<Task, double[]> closest = new IdentityHashMap<>();
+        for (int i = 0; i < terms.size(); i++) {
+            for (Map.Entry<String, Double> similar : vocabulary.similarTo(terms.get(i), minSimilarity).entrySet()) {
+                for (Task task : postings.get(similar.getKey())) {
+                    double[] scores = closest.computeIfAbsent(task, t -> new double[terms.size()]);
+                    scores[i] = Math.max(scores[i], similar.getValue());
+                }
+            }
+        }
+
+        Map<Task, Double> scored = new IdentityHashMap<>();
+        for (Map.Entry<Task, double[]> entry : closest.entrySet()) {
+            scored.put(entry.getKey(), mean(entry.getValue()));
+        }
+        return rank(scored, limit);
+    }
+
+    /**
+     * Scores one task against fuzzy search terms the way
+     * {@link #fuzzySearch} does, by comparing every word
+     */
+    public static double fuzzyScore(Collection<String> words, List<String> terms, double minSimilarity) {
+        double[] scores = new double[terms.size()];
+        for (int i = 0; i < terms.size(); i++) {
+            for (String word : words) {
+                double similarity = TrigramIndex.similarity(terms.get(i), word);
+                if (similarity >= minSimilarity) {
+                    scores[i] = Math.max(scores[i], similarity);
+                }
+            }
+        }
+        return mean(scores);
+    }
+
+    /**
+     * Orders scored tasks by score, then task ID, keeping the first {@code limit}
+     */
+    public static List<Task> rank(Map<Task, Double> scored, int limit) {
+        List<Task> results = new ArrayList<>();
+        for (Map.Entry<Task, Double> entry : scored.entrySet()) {
+            if (entry.getValue() > 0) {
+                results.add(entry.getKey());
+            }
+        }
+        results.sort(Comparator.comparingDouble((Task task) -> scored.get(task)).reversed()
+                .thenComparingInt(Task::getTaskId));
+        return results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+    }
+
+    private static double mean(double[] scores) {
+        double sum = 0;
+        for (double score : scores) {
+            sum += score;
+        }
+        return sum / scores.length;
+    }
+
+    /**
+     * Returns whether every term is a prefix of one of the words
+     */
+    public static boolean matchesAll(Collection<String> words, List<String> terms) {
+        for (String term : terms) {
+            boolean found = false;
+            for (String word : words) {
+                if (word.startsWith(term)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private SortedMap<String, Set<Task>> withPrefix(String prefix) {
+        return postings.subMap(prefix, prefix + Character.MAX_VALUE);
+    }
+}
@@ -0,0 +1,100 @@
+// model/TrigramIndex.java
+package model;
+
+import java.util.*;
+
+/**
+ * Index from the three-letter sequences of words to the words, for finding
+ * words spelled similarly to a misspelled one. Each word is padded with a
+ * space on both sides, so "invoice" has the trigrams " in", "inv", "nvo",
+ * "voi", "oic", "ice" and "ce ". Similarity is the Dice coefficient of two
+ * words' trigram sets: twice the shared trigrams over the sum of their sizes.
+ */
+public class TrigramIndex {
+    private final Map<String, Set<String>> wordsByTrigram = new HashMap<>();
+    private final Map<String, Integer> trigramCounts = new HashMap<>();
+
+    /**
+     * Gets the distinct trigrams of a word
+     */
+    public static Set<String> trigrams(String word) {
+        String padded = " " + word + " ";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Computes the similarity of two words, from 0 for no shared trigram to 1
+     */
+    public static double similarity(String a, String b) {
+        Set<String> trigramsA = trigrams(a);
+        Set<String> trigramsB = trigrams(b);
+        int shared = 0;
+        for (String trigram : trigramsA) {
+            if (trigramsB.contains(trigram)) {
+                shared++;
+            }
+        }
+        return dice(shared, trigramsA.size(), trigramsB.size());
+    }
+
+    private static double dice(int shared, int sizeA, int sizeB) {
+        return 2.0 * shared / (sizeA + sizeB);
+    }
+
+    public void add(String word) {
+        if (trigramCounts.containsKey(word)) {
+            return;
+        }
+        Set<String> trigrams = trigrams(word);
+        trigramCounts.put(word, trigrams.size());
+        for (String trigram : trigrams) {
+            wordsByTrigram.computeIfAbsent(trigram, t -> new HashSet<>()).add(word);
+        }
+    }
+
+    public void remove(String word) {
+        if (trigramCounts.remove(word) == null) {
+            return;
+        }
+        for (String trigram : trigrams(word)) {
+            Set<String> words = wordsByTrigram.get(trigram);
+            words.remove(word);
+            if (words.isEmpty()) {
+                wordsByTrigram.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Finds the indexed words at least {@code minSimilarity} similar to a term
+     * @return The similarity of each such word
+     */
+    public Map<String, Double> similarTo(String term, double minSimilarity) {
+        Set<String> termTrigrams = trigrams(term);
+
+        // Only words sharing a trigram with the term can be similar to it
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : termTrigrams) {
+            for (String word : wordsByTrigram.getOrDefault(trigram, Collections.emptySet())) {
+                shared.merge(word, 1, Integer::sum);
+            }
+        }
+
+        Map<String, Double> similar = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+            double similarity = dice(entry.getValue(), termTrigrams.size(), trigramCounts.get(entry.getKey()));
+            if (similarity >= minSimilarity) {
+                similar.put(entry.getKey(), similarity);
+            }
+        }
+        return similar;
+    }
+
+    public int size() {
+        return trigramCounts.size();
+    }
+}
@@ -0,0 +1,38 @@
+// model/UserRepository.java
+package model;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Storage backend for user accounts
+ */
+public interface UserRepository {
+    /**
+     * Loads all registered users
+     */
+    List<User> loadUsers() throws IOException;
+
+    /**
+     * Looks up a user by username
+     * @return The user, or null if no user has that name
+     */
+    User findByUsername(String username) throws IOException;
+
+    /**
+     * Saves a newly registered user
+     */
+    void save(User user) throws IOException;
+
+    /**
+     * Saves a newly registered user unless the username is already taken.
+     * Concurrent calls for the same username succeed at most once.
+     * @return true if the user was saved
+     */
+    boolean saveIfAbsent(User user) throws IOException;
+
+    /**
+     * Replaces the stored password hash of an existing user
+     */
+    void update(User user) throws IOException;
+}
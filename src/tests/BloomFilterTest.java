@@ -0,0 +1,52 @@
+// tests/BloomFilterTest.java
+package tests;
+
+import utils.BloomFilter;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.*;
+
+public class BloomFilterTest {
+    @Test
+    public void testNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.add("user" + i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue("Added names should always match", filter.mightContain("user" + i));
+        }
+        assertFalse("Filter should be within capacity", filter.isOverCapacity());
+    }
+
+    @Test
+    public void testFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.add("user" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue("False positive rate should be near 1%, was " + falsePositives + "/10000",
+                falsePositives < 300);
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        filter.add("alice");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        filter.writeTo(new DataOutputStream(bytes));
+        BloomFilter read = BloomFilter.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertTrue("Read filter should contain added names", read.mightContain("alice"));
+        assertEquals("Read filter should keep its size", 1, read.size());
+    }
+}
@@ -0,0 +1,103 @@
+// tests/CSVRecordTest.java
+package tests;
+
+import utils.CSVRecord;
+import utils.CSVRecordReader;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+public class CSVRecordTest {
+    private CSVRecord tokenize(String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        CSVRecord record = new CSVRecord();
+        record.tokenize(bytes, bytes.length);
+        return record;
+    }
+
+    @Test
+    public void testPlainFields() {
+        CSVRecord record = tokenize("1,testuser,Title,,2025-05-11T20:30");
+        assertEquals("Should have 5 fields", 5, record.size());
+        assertEquals("Title should match", "Title", record.get(2));
+        assertTrue("Description should be empty", record.isEmpty(3));
+    }
+
+    @Test
+    public void testQuotedFields() {
+        CSVRecord record = tokenize("\"Buy milk, eggs\",\"Say \"\"hi\"\"\",\"line one\nline two\",last");
+        assertEquals("Should have 4 fields", 4, record.size());
+        assertEquals("Comma should stay inside the field", "Buy milk, eggs", record.get(0));
+        assertEquals("Doubled quotes should be unescaped", "Say \"hi\"", record.get(1));
+        assertEquals("Line break should stay inside the field", "line one\nline two", record.get(2));
+        assertEquals("Last field should match", "last", record.get(3));
+    }
+
+    @Test
+    public void testTrailingEmptyField() {
+        CSVRecord record = tokenize("a,");
+        assertEquals("Trailing delimiter should yield an empty field", 2, record.size());
+        assertTrue("Trailing field should be empty", record.isEmpty(1));
+    }
+
+    @Test
+    public void testEscapeRoundTrip() {
+        String[] values = {"plain", "with, comma", "with \"quotes\"", "multi\nline", ""};
+        StringBuilder line = new StringBuilder();
+        for (String value : values) {
+            if (line.length() > 0) line.append(",");
+            line.append(CSVRecord.escape(value));
+        }
+
+        CSVRecord record = tokenize(line.toString());
+        assertEquals("Field count should match", values.length, record.size());
+        for (int i = 0; i < values.length; i++) {
+            assertEquals("Field " + i + " should round-trip", values[i], record.get(i));
+        }
+    }
+
+    @Test
+    public void testDetachedRecordOutlivesBuffer() {
+        byte[] buffer = "first,second".getBytes(StandardCharsets.UTF_8);
+        CSVRecord record = new CSVRecord();
+        record.tokenize(buffer, buffer.length);
+        CSVRecord detached = record.detach();
+
+        buffer[0] = 'X';
+        assertEquals("Detached record should keep its own copy", "first", detached.get(0));
+    }
+
+    @Test
+    public void testReaderIgnoresQuotesInsideFields() throws Exception {
+        Path file = Files.createTempFile("records", ".csv");
+        try {
+            // A raw quote mid-field, as older versions wrote titles, must not swallow the next rows
+            Files.write(file, ("1,Say \"hi,x\n2,\"quoted\nline\",y\n3,\"a \"\"b\"\"\",z\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            List<String> firstFields = new ArrayList<>();
+            CSVRecordReader.forEach(file, false, (lineNumber, record) -> {
+                assertEquals("Each record should have 3 fields", 3, record.size());
+                firstFields.add(record.get(0));
+            });
+
+            assertEquals("Every record should be read", Arrays.asList("1", "2", "3"), firstFields);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testDateTimeValidation() {
+        CSVRecord record = tokenize("2025-05-11T20:30,2025-05-11T20:30:15.123456789,2024-02-29T00:00:00,"
+                + "2025-02-29T00:00,2025-13-01T00:00,2025-05-11T24:00,2025-05-11,2025-05-11T20:30:15.,null");
+
+        assertTrue("Minutes precision should be valid", record.isDateTime(0));
+        assertTrue("Nanosecond precision should be valid", record.isDateTime(1));
+        assertTrue("Leap day should be valid", record.isDateTime(2));
+        for (int i = 3; i < record.size(); i++) {
+            assertFalse("Field " + record.get(i) + " should be invalid", record.isDateTime(i));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+// tests/DueDateIndexTest.java
+package tests;
+
+import model.*;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.time.LocalDateTime;
+import java.util.*;
+
+public class DueDateIndexTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 5, 11, 12, 0);
+
+    private TaskIndexes indexes;
+    private List<Task> tasks;
+
+    @Before
+    public void setUp() {
+        indexes = new TaskIndexes();
+        tasks = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 1; i <= 300; i++) {
+            LocalDateTime dueDate = i % 6 == 0 ? null : NOW.plusHours(random.nextInt(200) - 100);
+            tasks.add(new Task(i, "testuser", "Task " + i, "", dueDate, TaskStatus.INCOMPLETE, NOW, PriorityLevel.LOW));
+        }
+        indexes.addAll(tasks);
+    }
+
+    @Test
+    public void testOrderMatchesSort() {
+        List<Task> expected = new TaskQuery().orderBy(TaskQuery.SortKey.DUE_DATE, false).run(tasks);
+        assertEquals("Index order should match a full sort", expected, indexes.byDueDateOrder());
+        assertNull("Tasks without a due date should come last",
+                indexes.byDueDateOrder().get(tasks.size() - 1).getDueDate());
+    }
+
+    @Test
+    public void testRangeMatchesScan() {
+        TaskQuery query = new TaskQuery().dueBetween(NOW.minusHours(10), NOW.plusHours(30))
+                .orderBy(TaskQuery.SortKey.DUE_DATE, false);
+        assertEquals("Range should match a scan", query.run(tasks),
+                indexes.dueBetween(NOW.minusHours(10), NOW.plusHours(30)));
+        assertEquals("Open range should hold every dated task", 250, indexes.dueBetween(null, null).size());
+        assertTrue("Empty range should match nothing", indexes.dueBetween(NOW, NOW).isEmpty());
+    }
+
+    @Test
+    public void testDueDateChangeMovesTask() {
+        indexes.byDueDateOrder();
+        Task task = tasks.get(4);
+        task.setDueDate(NOW.plusYears(1));
+
+        List<Task> ordered = indexes.byDueDateOrder();
+        assertEquals("Task should move to its new due date", task, ordered.get(249));
+        assertEquals("Task should be found by its new due date", Collections.singletonList(task),
+                indexes.dueBetween(NOW.plusYears(1), null));
+
+        indexes.remove(task);
+        assertTrue("Removed task should not be indexed", indexes.dueBetween(NOW.plusYears(1), null).isEmpty());
+    }
+}
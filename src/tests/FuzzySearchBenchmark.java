@@ -0,0 +1,51 @@
+// tests/FuzzySearchBenchmark.java
+package tests;
+
+import model.*;
+import java.util.*;
+
+/**
+ * Times fuzzy search through the trigram index against a scan of every task.
+ * Kept out of the test suite, since wall-clock timings vary with the machine.
+ * Usage: FuzzySearchBenchmark [task count]
+ */
+public class FuzzySearchBenchmark {
+    private static final String[] SEARCHES = {"invioce", "dentsit", "grocerys", "meetng"};
+    private static final int WARMUP_RUNS = 5;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        List<Task> tasks = TrigramIndexTest.createTasks(count);
+        TaskIndexes indexes = new TaskIndexes();
+        indexes.addAll(tasks);
+
+        // Compile both paths before timing either
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            scan(tasks);
+            search(indexes);
+        }
+
+        long start = System.nanoTime();
+        scan(tasks);
+        long scanNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        search(indexes);
+        long indexNanos = System.nanoTime() - start;
+
+        System.out.println("Fuzzy search over " + count + " tasks: scan " + scanNanos / 1_000_000 + " ms, index "
+                + indexNanos / 1_000_000 + " ms");
+    }
+
+    private static void scan(List<Task> tasks) {
+        for (String text : SEARCHES) {
+            TrigramIndexTest.bruteForce(tasks, text, 20);
+        }
+    }
+
+    private static void search(TaskIndexes indexes) {
+        for (String text : SEARCHES) {
+            indexes.fuzzySearch(TextIndex.tokenize(text), TrigramIndexTest.MIN_SIMILARITY, 20);
+        }
+    }
+}
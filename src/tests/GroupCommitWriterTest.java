@@ -0,0 +1,99 @@
+// tests/GroupCommitWriterTest.java
+package tests;
+
+import utils.DurabilityMode;
+import utils.GroupCommitWriter;
+import utils.WriteMetrics;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class GroupCommitWriterTest {
+    private static final Path TEST_FILE = Paths.get("test_group_commit.log");
+
+    @Before
+    public void setUp() throws Exception {
+        Files.deleteIfExists(TEST_FILE);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(TEST_FILE);
+    }
+
+    @Test
+    public void testConcurrentAppendsAreAllWritten() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> results = new ArrayList<>();
+
+        try (GroupCommitWriter writer = new GroupCommitWriter(TEST_FILE, DurabilityMode.GROUPED, 64, 5,
+                new WriteMetrics("test"))) {
+            for (int i = 0; i < 2000; i++) {
+                String record = "record " + i + "\n";
+                results.add(executor.submit(() ->
+                        writer.append(record.getBytes(StandardCharsets.UTF_8)).get()));
+            }
+            for (Future<?> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Set<String> lines = new HashSet<>(Files.readAllLines(TEST_FILE));
+        assertEquals("Every record should be written once", 2000, lines.size());
+    }
+
+    @Test
+    public void testCloseFlushesPendingRecords() throws Exception {
+        GroupCommitWriter writer = new GroupCommitWriter(TEST_FILE, DurabilityMode.ASYNC, 1000, 1000,
+                new WriteMetrics("test"));
+        CompletableFuture<Void> written = writer.append("pending\n".getBytes(StandardCharsets.UTF_8));
+        writer.close();
+
+        assertTrue("Close should complete pending appends", written.isDone());
+        assertEquals("Pending record should be written", Collections.singletonList("pending"),
+                Files.readAllLines(TEST_FILE));
+
+        try {
+            writer.append("late\n".getBytes(StandardCharsets.UTF_8)).get();
+            fail("Appends after close should fail");
+        } catch (ExecutionException e) {
+            // Expected exception
+        }
+    }
+
+    @Test
+    public void testStrictModeForcesEveryRecord() throws Exception {
+        WriteMetrics metrics = new WriteMetrics("test");
+        try (GroupCommitWriter writer = new GroupCommitWriter(TEST_FILE, DurabilityMode.STRICT, 64, 5, metrics)) {
+            for (int i = 0; i < 10; i++) {
+                writer.append(("record " + i + "\n").getBytes(StandardCharsets.UTF_8)).get();
+            }
+        }
+
+        assertEquals("Every write should be measured", 10, metrics.getWriteCount());
+        assertEquals("Every write should be forced", 10, metrics.getForceCount());
+        assertTrue("Max latency should cover the mean", metrics.getMaxLatencyMillis() >= metrics.getMeanLatencyMillis());
+    }
+
+    @Test
+    public void testGroupedModeSharesForces() throws Exception {
+        WriteMetrics metrics = new WriteMetrics("test");
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        try (GroupCommitWriter writer = new GroupCommitWriter(TEST_FILE, DurabilityMode.GROUPED, 1000, 50, metrics)) {
+            for (int i = 0; i < 100; i++) {
+                results.add(writer.append(("record " + i + "\n").getBytes(StandardCharsets.UTF_8)));
+            }
+            for (CompletableFuture<Void> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+        }
+
+        assertEquals("Every write should be acknowledged", 100, metrics.getWriteCount());
+        assertTrue("Writes should share forces", metrics.getForceCount() < 100);
+    }
+}
@@ -0,0 +1,52 @@
+// tests/PasswordHasherTest.java
+package tests;
+
+import model.*;
+import utils.InMemoryTaskRepository;
+import utils.InMemoryUserRepository;
+import utils.PasswordHasher;
+import org.junit.*;
+import static org.junit.Assert.*;
+import org.mindrot.jbcrypt.BCrypt;
+
+public class PasswordHasherTest {
+    @Test
+    public void testHashAndVerify() throws Exception {
+        String hash = PasswordHasher.hash("password");
+        assertTrue("Correct password should verify", PasswordHasher.verify("password", hash));
+        assertFalse("Wrong password should not verify", PasswordHasher.verify("wrong", hash));
+        assertFalse("Fresh hash should not need rehashing", PasswordHasher.needsRehash(hash));
+        assertTrue("Completed work should be counted", PasswordHasher.getCompletedCount() >= 3);
+        assertTrue("Summary should report the cost", PasswordHasher.describe().contains("cost " + PasswordHasher.cost()));
+    }
+
+    @Test
+    public void testLoginRehashesStaleCost() throws Exception {
+        InMemoryUserRepository users = new InMemoryUserRepository();
+        String staleHash = BCrypt.hashpw("password", BCrypt.gensalt(4));
+        users.save(new User("alice", staleHash));
+        assertTrue("Low-cost hash should need rehashing", PasswordHasher.needsRehash(staleHash));
+
+        TaskManager taskManager = new TaskManager(new InMemoryTaskRepository(), users);
+        assertTrue("Login should succeed with the stale hash", taskManager.login("alice", "password"));
+
+        String storedHash = users.findByUsername("alice").getHashedPassword();
+        assertNotEquals("Stored hash should be replaced", staleHash, storedHash);
+        assertFalse("Stored hash should use the current cost", PasswordHasher.needsRehash(storedHash));
+        assertTrue("Login should succeed with the new hash", taskManager.login("alice", "password"));
+    }
+
+    @Test
+    public void testUnknownUserStillChecksPassword() throws Exception {
+        TaskManager taskManager = new TaskManager(new InMemoryTaskRepository(), new InMemoryUserRepository());
+        PasswordHasher.cost();
+        long completed = PasswordHasher.getCompletedCount();
+
+        assertFalse("Unknown user should not log in", taskManager.login("nobody", "password"));
+        // The pool counts a check just after handing back its result
+        for (int i = 0; i < 100 && PasswordHasher.getCompletedCount() == completed; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals("Unknown user should cost one bcrypt check", completed + 1, PasswordHasher.getCompletedCount());
+    }
+}
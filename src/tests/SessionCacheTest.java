@@ -0,0 +1,104 @@
+// tests/SessionCacheTest.java
+package tests;
+
+import model.*;
+import utils.InMemoryTaskRepository;
+import utils.InMemoryUserRepository;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.util.*;
+
+public class SessionCacheTest {
+    /**
+     * Counts how often tasks are loaded from storage
+     */
+    private static class CountingTaskRepository extends InMemoryTaskRepository {
+        int loads;
+
+        @Override
+        public List<Task> loadUserTasks(String userId) {
+            loads++;
+            return super.loadUserTasks(userId);
+        }
+    }
+
+    @Test
+    public void testResumeAndLogout() throws Exception {
+        CountingTaskRepository tasks = new CountingTaskRepository();
+        SessionCache sessions = new SessionCache(4, 60_000);
+        TaskManager taskManager = new TaskManager(tasks, new InMemoryUserRepository(), sessions);
+
+        taskManager.register("alice", "password");
+        assertTrue("Login should succeed", taskManager.login("alice", "password"));
+        taskManager.createTask("Task", "", null, PriorityLevel.MEDIUM);
+        String token = taskManager.getSessionToken();
+        assertNotNull("Login should issue a token", token);
+
+        TaskManager resumed = new TaskManager(tasks, new InMemoryUserRepository(), sessions);
+        assertTrue("Token should resume the session", resumed.resume(token));
+        assertEquals("Resumed user should match", "alice", resumed.getCurrentUser().getUsername());
+
+        taskManager.logout();
+        assertFalse("Logout should invalidate the token", resumed.resume(token));
+
+        int loads = tasks.loads;
+        assertTrue("Login should succeed again", taskManager.login("alice", "password"));
+        assertEquals("Warm tasks should skip the reload", loads, tasks.loads);
+        assertEquals("Warm tasks should be restored", 1, taskManager.getAllTasks().size());
+    }
+
+    @Test
+    public void testLoginPrefetchesTasksOnce() throws Exception {
+        CountingTaskRepository tasks = new CountingTaskRepository();
+        TaskManager taskManager = new TaskManager(tasks, new InMemoryUserRepository(), new SessionCache(4, 60_000));
+        taskManager.register("alice", "password");
+        tasks.create(new Task(tasks.nextTaskId(), "alice", "Task", "", null, TaskStatus.INCOMPLETE,
+                java.time.LocalDateTime.now(), PriorityLevel.LOW));
+
+        assertFalse("Wrong password should fail", taskManager.login("alice", "wrong"));
+        assertNull("Failed login should not set a user", taskManager.getSessionToken());
+        assertTrue("Prefetched tasks should be dropped", taskManager.getAllTasks().isEmpty());
+
+        int loads = tasks.loads;
+        assertTrue("Login should succeed", taskManager.login("alice", "password"));
+        assertEquals("Tasks should be loaded once", loads + 1, tasks.loads);
+        assertEquals("Prefetched tasks should be used", 1, taskManager.getAllTasks().size());
+    }
+
+    @Test
+    public void testCapacityAndExpiry() throws Exception {
+        SessionCache sessions = new SessionCache(2, 60_000);
+        String aliceToken = sessions.open(new User("alice", "hash"));
+        sessions.open(new User("bob", "hash"));
+        sessions.open(new User("carol", "hash"));
+
+        assertEquals("Cache should hold at most 2 users", 2, sessions.size());
+        assertNull("Least recently used session should be evicted", sessions.resume(aliceToken));
+
+        SessionCache expiring = new SessionCache(2, 0);
+        String token = expiring.open(new User("alice", "hash"));
+        Thread.sleep(5);
+        assertNull("Idle session should expire", expiring.resume(token));
+    }
+
+    @Test
+    public void testSuspendAndResume() throws Exception {
+        CountingTaskRepository tasks = new CountingTaskRepository();
+        TaskManager taskManager = new TaskManager(tasks, new InMemoryUserRepository(), new SessionCache(4, 60_000));
+        taskManager.register("alice", "password");
+        assertTrue("Login should succeed", taskManager.login("alice", "password"));
+        taskManager.createTask("Task", "", null, PriorityLevel.MEDIUM);
+
+        String token = taskManager.suspend();
+        assertNull("Suspending should leave nobody logged in", taskManager.getCurrentUser());
+        assertTrue("Suspending should clear the tasks", taskManager.getAllTasks().isEmpty());
+
+        int loads = tasks.loads;
+        assertTrue("Suspended session should resume", taskManager.resume(token));
+        assertEquals("Resume should use the warm tasks", loads, tasks.loads);
+        assertEquals("Warm tasks should be restored", 1, taskManager.getAllTasks().size());
+
+        taskManager.logout();
+        assertFalse("Logout should end a resumed session", taskManager.resume(token));
+    }
+}
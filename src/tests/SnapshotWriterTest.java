@@ -0,0 +1,56 @@
+// tests/SnapshotWriterTest.java
+package tests;
+
+import utils.SnapshotWriter;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.Arrays;
+
+public class SnapshotWriterTest {
+    private static final Path TEST_FILE = Paths.get("test_snapshot.csv");
+    private static final Path TEST_TEMP_FILE = Paths.get("test_snapshot.csv.tmp");
+
+    @Before
+    public void setUp() throws Exception {
+        Files.deleteIfExists(TEST_FILE);
+        Files.deleteIfExists(TEST_TEMP_FILE);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(TEST_FILE);
+        Files.deleteIfExists(TEST_TEMP_FILE);
+    }
+
+    @Test
+    public void testReplacesFile() throws Exception {
+        Files.write(TEST_FILE, Arrays.asList("old"));
+        SnapshotWriter.write(TEST_FILE, writer -> {
+            writer.write("new");
+            writer.newLine();
+        });
+
+        assertEquals("Snapshot should be replaced", Arrays.asList("new"), Files.readAllLines(TEST_FILE));
+        assertFalse("Temporary file should be moved into place", Files.exists(TEST_TEMP_FILE));
+    }
+
+    @Test
+    public void testFailedWriteKeepsPreviousSnapshot() throws Exception {
+        Files.write(TEST_FILE, Arrays.asList("old"));
+
+        try {
+            SnapshotWriter.write(TEST_FILE, writer -> {
+                writer.write("partial");
+                throw new IOException("Simulated failure");
+            });
+            fail("Write failure should be reported");
+        } catch (IOException e) {
+            // Expected exception
+        }
+
+        assertEquals("Previous snapshot should be intact", Arrays.asList("old"), Files.readAllLines(TEST_FILE));
+        assertFalse("Partial copy should be removed", Files.exists(TEST_TEMP_FILE));
+    }
+}
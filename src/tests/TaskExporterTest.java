@@ -0,0 +1,114 @@
+// tests/TaskExporterTest.java
+package tests;
+
+import model.*;
+import utils.TaskExporter;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+public class TaskExporterTest {
+    private static final Path TEST_EXPORT_FILE = Paths.get("test_exporter_export");
+
+    private final List<Task> tasks = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        Files.deleteIfExists(TEST_EXPORT_FILE);
+        for (int i = 0; i < 2500; i++) {
+            tasks.add(new Task(i, "testuser", "Task " + i, "Line one, \"quoted\"\nline two",
+                    LocalDateTime.of(2025, 5, 11, 20, 30), TaskStatus.INCOMPLETE,
+                    LocalDateTime.now(), PriorityLevel.HIGH));
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(TEST_EXPORT_FILE);
+    }
+
+    @Test
+    public void testFormatFromFilename() {
+        assertEquals(TaskExporter.Format.CSV, TaskExporter.Format.forFilename("tasks.csv"));
+        assertEquals(TaskExporter.Format.JSON_LINES, TaskExporter.Format.forFilename("tasks.jsonl.gz"));
+        assertEquals(TaskExporter.Format.BINARY, TaskExporter.Format.forFilename("TASKS.TDEX"));
+        assertEquals(TaskExporter.Format.CSV, TaskExporter.Format.forFilename("tasks.txt"));
+    }
+
+    @Test
+    public void testCompressedJsonLinesKeepOrder() throws Exception {
+        TaskExporter exporter = new TaskExporter(TaskExporter.Format.JSON_LINES, true, true, true, true);
+        assertEquals("All tasks should be exported", 2500, exporter.export(tasks.iterator(), TEST_EXPORT_FILE));
+
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(TEST_EXPORT_FILE)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+
+        assertEquals("One line per task", 2500, lines.size());
+        assertEquals("Rows should keep their order",
+                "{\"title\":\"Task 1234\",\"description\":\"Line one, \\\"quoted\\\"\\nline two\","
+                        + "\"dueDate\":\"2025-05-11T20:30\",\"priority\":\"HIGH\"}", lines.get(1234));
+    }
+
+    @Test
+    public void testCsvColumnSelection() throws Exception {
+        TaskExporter exporter = new TaskExporter(TaskExporter.Format.CSV, false, false, false, true);
+        exporter.export(tasks.iterator(), TEST_EXPORT_FILE);
+
+        List<String> lines = Files.readAllLines(TEST_EXPORT_FILE);
+        assertEquals("Header should list selected columns", "Title,Priority", lines.get(0));
+        assertEquals("Rows should list selected columns", "Task 0,HIGH", lines.get(1));
+    }
+
+    @Test
+    public void testBinaryHeader() throws Exception {
+        TaskExporter exporter = new TaskExporter(TaskExporter.Format.BINARY, false, true, true, true);
+        exporter.export(tasks.iterator(), TEST_EXPORT_FILE);
+
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(TEST_EXPORT_FILE))) {
+            assertEquals("File should start with the magic number", 0x54444558, in.readInt());
+            assertEquals("Version should match", 2, in.readByte());
+            in.skipBytes(3);
+            byte[] title = new byte[in.readInt()];
+            in.readFully(title);
+            assertEquals("First title should match", "Task 0", new String(title, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testBinaryKeepsMissingValuesDistinct() throws Exception {
+        LocalDateTime beforeEpoch = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 123456789);
+        List<Task> edgeTasks = Arrays.asList(
+                new Task(1, "testuser", "No description", null, null, TaskStatus.INCOMPLETE,
+                        LocalDateTime.now(), PriorityLevel.LOW),
+                new Task(2, "testuser", "Before epoch", "", beforeEpoch, TaskStatus.INCOMPLETE,
+                        LocalDateTime.now(), PriorityLevel.LOW));
+
+        TaskExporter exporter = new TaskExporter(TaskExporter.Format.BINARY, false, true, true, false);
+        exporter.export(edgeTasks.iterator(), TEST_EXPORT_FILE);
+
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(TEST_EXPORT_FILE))) {
+            in.skipBytes(8);
+
+            in.skipBytes(in.readInt());
+            assertEquals("A missing description should be written as length -1", -1, in.readInt());
+            assertFalse("A missing due date should be flagged", in.readBoolean());
+
+            in.skipBytes(in.readInt());
+            assertEquals("An empty description should stay empty", 0, in.readInt());
+            assertTrue("A due date should be flagged", in.readBoolean());
+            assertEquals("Due date should keep its epoch second", -1, in.readLong());
+            assertEquals("Due date should keep its nanos", 123456789, in.readInt());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+// tests/TaskIdSequenceTest.java
+package tests;
+
+import utils.TaskIdSequence;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.HashSet;
+import java.util.Set;
+
+public class TaskIdSequenceTest {
+    private static final Path TEST_SEQUENCE_FILE = Paths.get("test_tasks.seq");
+
+    @Before
+    public void setUp() throws Exception {
+        Files.deleteIfExists(TEST_SEQUENCE_FILE);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(TEST_SEQUENCE_FILE);
+    }
+
+    @Test
+    public void testSeedsFromHighestExistingId() throws Exception {
+        TaskIdSequence sequence = new TaskIdSequence(TEST_SEQUENCE_FILE, () -> 41);
+        assertEquals("First ID should follow the seed", 42, sequence.next());
+        assertEquals("IDs should be consecutive within a block", 43, sequence.next());
+    }
+
+    @Test
+    public void testIdsStayUniqueAcrossInstances() throws Exception {
+        // Each instance stands in for a separate process sharing the sequence file
+        TaskIdSequence first = new TaskIdSequence(TEST_SEQUENCE_FILE, () -> 0);
+        TaskIdSequence second = new TaskIdSequence(TEST_SEQUENCE_FILE, () -> 0);
+        Set<Integer> ids = new HashSet<>();
+
+        for (int i = 0; i < 500; i++) {
+            assertTrue("ID should not repeat", ids.add(first.next()));
+            assertTrue("ID should not repeat", ids.add(second.next()));
+        }
+    }
+
+    @Test
+    public void testRestartNeverReusesIds() throws Exception {
+        TaskIdSequence beforeCrash = new TaskIdSequence(TEST_SEQUENCE_FILE, () -> 0);
+        int lastId = beforeCrash.next();
+
+        TaskIdSequence afterRestart = new TaskIdSequence(TEST_SEQUENCE_FILE, () -> {
+            throw new AssertionError("Seed should only be used for a new sequence file");
+        });
+        assertTrue("IDs after a restart should be higher", afterRestart.next() > lastId);
+    }
+
+    @Test
+    public void testTornLeaseKeepsPreviousEnd() throws Exception {
+        TaskIdSequence beforeCrash = new TaskIdSequence(TEST_SEQUENCE_FILE, () -> 0);
+        int lastId = beforeCrash.next();
+
+        // A crash mid-lease leaves the slot being written half done
+        try (FileChannel channel = FileChannel.open(TEST_SEQUENCE_FILE, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap("00000".getBytes(StandardCharsets.US_ASCII)), 0);
+        }
+
+        TaskIdSequence afterRestart = new TaskIdSequence(TEST_SEQUENCE_FILE, () -> {
+            throw new AssertionError("Seed should not be used while a slot is intact");
+        });
+        assertTrue("IDs after a torn lease should be higher", afterRestart.next() > lastId);
+    }
+
+    @Test
+    public void testReadsBareNumberFromOlderVersions() throws Exception {
+        Files.write(TEST_SEQUENCE_FILE, "128".getBytes(StandardCharsets.US_ASCII));
+        TaskIdSequence sequence = new TaskIdSequence(TEST_SEQUENCE_FILE, () -> 0);
+        assertEquals("Sequence should continue from the stored number", 128, sequence.next());
+
+        TaskIdSequence restarted = new TaskIdSequence(TEST_SEQUENCE_FILE, () -> 0);
+        assertEquals("Next lease should follow the converted one", 128 + 64, restarted.next());
+    }
+}
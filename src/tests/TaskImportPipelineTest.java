@@ -0,0 +1,100 @@
+// tests/TaskImportPipelineTest.java
+package tests;
+
+import model.*;
+import utils.TaskImportPipeline;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TaskImportPipelineTest {
+    private static final Path TEST_IMPORT_FILE = Paths.get("test_pipeline_import.csv");
+
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final List<Integer> errorLines = new ArrayList<>();
+    private final List<Integer> duplicateLines = new ArrayList<>();
+    private long lastRowsRead;
+
+    private final TaskImportPipeline.Listener listener = new TaskImportPipeline.Listener() {
+        @Override
+        public void onProgress(long rowsRead, long rowsImported) {
+            assertTrue("Progress should only move forward", rowsRead >= lastRowsRead);
+            lastRowsRead = rowsRead;
+        }
+
+        @Override
+        public void onRowError(int lineNumber, String row, String message) {
+            errorLines.add(lineNumber);
+        }
+
+        @Override
+        public void onDuplicate(int lineNumber, String row) {
+            duplicateLines.add(lineNumber);
+        }
+    };
+
+    @Before
+    public void setUp() throws Exception {
+        Files.deleteIfExists(TEST_IMPORT_FILE);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(TEST_IMPORT_FILE);
+    }
+
+    @Test
+    public void testLargeImportKeepsFileOrder() throws Exception {
+        try (BufferedWriter writer = Files.newBufferedWriter(TEST_IMPORT_FILE)) {
+            writer.write("Title,Description,Due Date,Priority");
+            writer.newLine();
+            for (int i = 0; i < 5000; i++) {
+                writer.write("Task " + i + ",Description " + i + ",2025-05-11T20:30,HIGH");
+                writer.newLine();
+            }
+        }
+
+        List<Task> imported = new ArrayList<>();
+        long count = new TaskImportPipeline("testuser", Collections.emptyList(), nextId::incrementAndGet,
+                imported::addAll, listener)
+                .run(TEST_IMPORT_FILE);
+
+        assertEquals("All rows should be imported", 5000, count);
+        assertEquals("Progress should cover every row", 5000, lastRowsRead);
+        for (int i = 0; i < imported.size(); i++) {
+            assertEquals("Rows should keep file order", "Task " + i, imported.get(i).getTitle());
+        }
+    }
+
+    @Test
+    public void testInvalidAndDuplicateRows() throws Exception {
+        try (BufferedWriter writer = Files.newBufferedWriter(TEST_IMPORT_FILE)) {
+            writer.write("Title,Description,Due Date,Priority");
+            writer.newLine();
+            writer.write("Valid,,2025-05-11T20:30,LOW");
+            writer.newLine();
+            writer.write("Bad date,,not-a-date,LOW");
+            writer.newLine();
+            writer.write("Valid,,2025-05-11T20:30,LOW");
+            writer.newLine();
+            writer.write(",,,");
+            writer.newLine();
+            writer.write("Existing");
+            writer.newLine();
+        }
+
+        Task existing = new Task(1, "testuser", "Existing", "", null, TaskStatus.INCOMPLETE,
+                java.time.LocalDateTime.now(), PriorityLevel.MEDIUM);
+        List<Task> imported = new ArrayList<>();
+        new TaskImportPipeline("testuser", Collections.singletonList(existing), nextId::incrementAndGet,
+                imported::addAll, listener)
+                .run(TEST_IMPORT_FILE);
+
+        assertEquals("Only one new task should be imported", 1, imported.size());
+        assertEquals("Errors should report line numbers", Arrays.asList(3, 5), errorLines);
+        assertEquals("Skipped duplicates should be reported", Arrays.asList(4, 6), duplicateLines);
+    }
+}
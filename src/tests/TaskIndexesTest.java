@@ -0,0 +1,90 @@
+// tests/TaskIndexesTest.java
+package tests;
+
+import model.*;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.time.LocalDateTime;
+import java.util.*;
+
+public class TaskIndexesTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 5, 11, 12, 0);
+
+    private TaskIndexes indexes;
+    private List<Task> tasks;
+
+    @Before
+    public void setUp() {
+        indexes = new TaskIndexes();
+        tasks = new ArrayList<>();
+        for (int i = 1; i <= 40; i++) {
+            tasks.add(new Task(i, "testuser", "Task " + i, "", NOW.plusDays(i),
+                    i % 4 == 0 ? TaskStatus.COMPLETE : TaskStatus.INCOMPLETE, NOW, PriorityLevel.values()[i % 4]));
+        }
+        indexes.addAll(tasks);
+    }
+
+    @Test
+    public void testBucketsMatchScan() {
+        for (TaskStatus status : TaskStatus.values()) {
+            List<Task> expected = new ArrayList<>();
+            for (Task task : tasks) {
+                if (task.getStatus() == status) {
+                    expected.add(task);
+                }
+            }
+            assertEquals("Status bucket should hold matching tasks in ID order",
+                    expected, new ArrayList<>(indexes.withStatus(status)));
+        }
+        assertEquals("Priority bucket should hold matching tasks", 10, indexes.withPriority(PriorityLevel.URGENT).size());
+    }
+
+    @Test
+    public void testSetterMovesTask() {
+        Task task = tasks.get(0);
+        task.setStatus(TaskStatus.COMPLETE);
+        task.setPriority(PriorityLevel.LOW);
+
+        assertTrue("Task should move to its new status", indexes.withStatus(TaskStatus.COMPLETE).contains(task));
+        assertFalse("Task should leave its old status", indexes.withStatus(TaskStatus.INCOMPLETE).contains(task));
+        assertTrue("Task should move to its new priority", indexes.withPriority(PriorityLevel.LOW).contains(task));
+        assertFalse("Task should leave its old priority", indexes.withPriority(PriorityLevel.MEDIUM).contains(task));
+    }
+
+    @Test
+    public void testRemovedTaskIsNotTracked() {
+        Task task = tasks.get(1);
+        indexes.remove(task);
+        task.setStatus(TaskStatus.COMPLETE);
+
+        assertFalse("Removed task should not be indexed", indexes.withStatus(TaskStatus.COMPLETE).contains(task));
+        assertFalse("Removed task should not be indexed", indexes.withStatus(TaskStatus.INCOMPLETE).contains(task));
+    }
+
+    @Test
+    public void testQueryUsesSmallestBucket() {
+        TaskQuery query = new TaskQuery().status(TaskStatus.INCOMPLETE).priority(PriorityLevel.HIGH);
+        Collection<Task> candidates = indexes.candidates(query);
+
+        assertEquals("Smaller priority bucket should be picked", indexes.withPriority(PriorityLevel.HIGH).size(),
+                candidates.size());
+        assertEquals("Bucket query should match a full scan", query.run(tasks), query.run(candidates));
+        assertNull("Unindexed query should scan", indexes.candidates(new TaskQuery().text("Task")));
+    }
+
+    @Test
+    public void testSearchRunMatchesScan() {
+        tasks.get(6).setTitle("Quarterly report");
+        tasks.get(7).setDescription("Report for the board");
+        TaskQuery[] queries = {
+                new TaskQuery().search("rep"),
+                new TaskQuery().search("report quarterly"),
+                new TaskQuery().search("task 1").status(TaskStatus.COMPLETE),
+                new TaskQuery().search("task").priority(PriorityLevel.URGENT).orderBy(TaskQuery.SortKey.TITLE, false)
+        };
+
+        for (TaskQuery query : queries) {
+            assertEquals("Indexed search should match a full scan", query.run(tasks), indexes.run(query, tasks));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+// tests/TaskLogTest.java
+package tests;
+
+import model.*;
+import utils.TaskLog;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.*;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+public class TaskLogTest {
+    private static final Path TEST_SNAPSHOT_FILE = Paths.get("test_log_tasks.csv");
+    private static final Path TEST_LOG_FILE = Paths.get("test_tasks.log");
+
+    private TaskLog taskLog;
+
+    @Before
+    public void setUp() throws Exception {
+        deleteTestFiles();
+        taskLog = new TaskLog(TEST_SNAPSHOT_FILE, TEST_LOG_FILE);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        deleteTestFiles();
+    }
+
+    private void deleteTestFiles() throws Exception {
+        Files.deleteIfExists(TEST_SNAPSHOT_FILE);
+        Files.deleteIfExists(TEST_LOG_FILE);
+        Files.deleteIfExists(Paths.get("test_tasks.log.compacting"));
+    }
+
+    private Task newTask(int taskId, String title) {
+        return new Task(taskId, "testuser", title, "", LocalDateTime.now().plusDays(1),
+                TaskStatus.INCOMPLETE, LocalDateTime.now(), PriorityLevel.MEDIUM);
+    }
+
+    @Test
+    public void testReplayOverSnapshot() throws Exception {
+        Task task1 = newTask(1, "Task 1");
+        Task task2 = newTask(2, "Task 2");
+        taskLog.replaceSnapshot(Arrays.asList(task1, task2));
+
+        // Mutations only touch the log
+        task1.setStatus(TaskStatus.COMPLETE);
+        taskLog.append(TaskLog.Operation.UPDATE, task1);
+        taskLog.append(TaskLog.Operation.DELETE, task2);
+        taskLog.append(TaskLog.Operation.CREATE, newTask(3, "Task 3"));
+
+        List<Task> tasks = taskLog.load();
+        assertEquals("Should have 2 tasks", 2, tasks.size());
+        assertEquals("Updated status should be replayed", TaskStatus.COMPLETE, tasks.get(0).getStatus());
+        assertEquals("Created task should be replayed", 3, tasks.get(1).getTaskId());
+    }
+
+    @Test
+    public void testTornRecordIsSkipped() throws Exception {
+        taskLog.append(TaskLog.Operation.CREATE, newTask(1, "Task 1"));
+        Files.write(TEST_LOG_FILE, "UPDATE,1,testus".getBytes(), StandardOpenOption.APPEND);
+
+        List<Task> tasks = taskLog.load();
+        assertEquals("Torn record should not affect loaded tasks", 1, tasks.size());
+        assertEquals("Title should match", "Task 1", tasks.get(0).getTitle());
+    }
+
+    @Test
+    public void testAppendAfterTornRecord() throws Exception {
+        taskLog.append(TaskLog.Operation.CREATE, newTask(1, "Task 1"));
+        // A crash mid-append, here inside a quoted field, leaves no line break
+        Files.write(TEST_LOG_FILE, "UPDATE,1,testuser,\"Half a\ntitle".getBytes(), StandardOpenOption.APPEND);
+
+        // Reopen the log as after a restart and keep writing
+        TaskLog restarted = new TaskLog(TEST_SNAPSHOT_FILE, TEST_LOG_FILE);
+        restarted.append(TaskLog.Operation.CREATE, newTask(2, "Task 2"));
+
+        List<Task> tasks = restarted.load();
+        assertEquals("Record written after the torn one should be kept", 2, tasks.size());
+        assertEquals("Torn update should be discarded", "Task 1", tasks.get(0).getTitle());
+        assertEquals("New record should be replayed", "Task 2", tasks.get(1).getTitle());
+    }
+
+    @Test
+    public void testCompactionFoldsLogIntoSnapshot() throws Exception {
+        taskLog.append(TaskLog.Operation.CREATE, newTask(1, "Task 1"));
+        taskLog.compactInBackground();
+
+        // Wait for the background compaction to swap in the new snapshot
+        for (int i = 0; i < 100 && Files.exists(Paths.get("test_tasks.log.compacting")); i++) {
+            Thread.sleep(20);
+        }
+
+        assertFalse("Log should be folded into the snapshot", Files.exists(TEST_LOG_FILE));
+        assertEquals("Snapshot should contain the task", 1, taskLog.load().size());
+    }
+
+    @Test
+    public void testLeftoverRotatedLogIsMergedFirst() throws Exception {
+        Path compactingFile = Paths.get("test_tasks.log.compacting");
+        taskLog.append(TaskLog.Operation.CREATE, newTask(1, "Task 1"));
+        // A crash right after rotating leaves the log unmerged
+        Files.move(TEST_LOG_FILE, compactingFile);
+
+        TaskLog restarted = new TaskLog(TEST_SNAPSHOT_FILE, TEST_LOG_FILE);
+        restarted.append(TaskLog.Operation.CREATE, newTask(2, "Task 2"));
+
+        // The first compaction merges the leftover, the next one the new log
+        for (int i = 0; i < 200 && (Files.exists(TEST_LOG_FILE) || Files.exists(compactingFile)); i++) {
+            restarted.compactInBackground();
+            Thread.sleep(20);
+        }
+
+        assertFalse("Both logs should be folded into the snapshot",
+                Files.exists(TEST_LOG_FILE) || Files.exists(compactingFile));
+        assertEquals("Snapshot should keep the task from the leftover log", 2,
+                new TaskLog(TEST_SNAPSHOT_FILE, TEST_LOG_FILE).load().size());
+    }
+
+    @Test
+    public void testLoadedTasksSerialize() throws Exception {
+        Task task = new Task(1, "testuser", "Task 1", "Details", LocalDateTime.of(2025, 5, 11, 20, 30),
+                TaskStatus.INCOMPLETE, LocalDateTime.of(2025, 5, 1, 9, 0), PriorityLevel.HIGH);
+        taskLog.replaceSnapshot(Arrays.asList(task));
+        Task loaded = taskLog.load().get(0);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(loaded);
+        }
+        Task copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (Task) in.readObject();
+        }
+
+        assertEquals("Description should survive serialization", "Details", copy.getDescription());
+        assertEquals("Due date should survive serialization", task.getDueDate(), copy.getDueDate());
+        assertEquals("Creation time should survive serialization", task.getCreatedAt(), copy.getCreatedAt());
+    }
+
+    @Test
+    public void testCorruptDatesAreRejectedOnLoad() throws Exception {
+        taskLog.replaceSnapshot(Arrays.asList(newTask(1, "Task 1"), newTask(2, "Task 2"), newTask(3, "Task 3")));
+        List<String> lines = new java.util.ArrayList<>(Files.readAllLines(TEST_SNAPSHOT_FILE));
+        lines.set(1, lines.get(1).replaceFirst(",\\d{4}-\\d{2}-\\d{2}T", ",2025-02-30T"));
+        lines.set(2, lines.get(2).replaceFirst("T\\d{2}:", "Tnoon:"));
+        Files.write(TEST_SNAPSHOT_FILE, lines);
+
+        List<Task> tasks = taskLog.load();
+        assertEquals("Rows with bad dates should be rejected", 1, tasks.size());
+        assertEquals("Valid row should load", 3, tasks.get(0).getTaskId());
+        assertNotNull("Dates of loaded rows should decode", tasks.get(0).getCreatedAt());
+    }
+}
@@ -4,7 +4,10 @@ package tests;
 import model.*;
 import org.junit.*;
 import static org.junit.Assert.*;
+import utils.InMemoryTaskRepository;
+import utils.InMemoryUserRepository;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -157,4 +160,45 @@ public class TaskManagerTest {
         assertNotNull("Task should be created", taskWithNullDueDate);
         assertNull("Due date should be null", taskWithNullDueDate.getDueDate());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testNextTasks() throws Exception {
+        // A fresh store, so tasks from other tests do not compete
+        TaskManager taskManager = new TaskManager(new InMemoryTaskRepository(), new InMemoryUserRepository());
+        taskManager.register(TEST_USER, TEST_PASSWORD);
+        taskManager.login(TEST_USER, TEST_PASSWORD);
+        LocalDateTime now = LocalDateTime.now();
+        Task later = taskManager.createTask("Later", "", now.plusDays(3), PriorityLevel.URGENT);
+        Task sooner = taskManager.createTask("Sooner", "", now.plusDays(1), PriorityLevel.URGENT);
+        Task undated = taskManager.createTask("Undated", "", null, PriorityLevel.URGENT);
+        Task high = taskManager.createTask("High", "", now, PriorityLevel.HIGH);
+        Task done = taskManager.createTask("Done", "", now, PriorityLevel.URGENT);
+        done.setStatus(TaskStatus.COMPLETE);
+        taskManager.createTask("Low", "", now, PriorityLevel.LOW);
+
+        List<Task> next = taskManager.getNextTasks(4);
+        assertEquals("Should rank by priority, then due date, skipping complete tasks",
+                Arrays.asList(sooner, later, undated, high), next);
+    }
+
+    @Test
+    public void testQueryCache() throws Exception {
+        TaskManager taskManager = new TaskManager(new InMemoryTaskRepository(), new InMemoryUserRepository());
+        taskManager.register(TEST_USER, TEST_PASSWORD);
+        taskManager.login(TEST_USER, TEST_PASSWORD);
+        Task task = taskManager.createTask("Cached", "", LocalDateTime.now(), PriorityLevel.HIGH);
+
+        List<Task> first = taskManager.filterTasksByStatus(TaskStatus.INCOMPLETE);
+        taskManager.sortTasksByDueDate();
+        List<Task> second = taskManager.filterTasksByStatus(TaskStatus.INCOMPLETE);
+        assertEquals("Repeated query should hit the cache", 1, taskManager.getQueryCacheHits());
+        assertEquals("Cached results should match", first, second);
+
+        long version = taskManager.getVersion();
+        task.setStatus(TaskStatus.COMPLETE);
+        assertNotEquals("Editing a task should change the version", version, taskManager.getVersion());
+        assertTrue("Cache should not serve results from before the edit",
+                taskManager.filterTasksByStatus(TaskStatus.INCOMPLETE).isEmpty());
+        assertEquals("Query after an edit should miss the cache", 2, taskManager.getQueryCacheMisses());
+    }
+}
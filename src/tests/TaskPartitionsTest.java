@@ -0,0 +1,100 @@
+// tests/TaskPartitionsTest.java
+package tests;
+
+import model.*;
+import utils.TaskLog;
+import utils.TaskPartitions;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.util.*;
+
+public class TaskPartitionsTest {
+    private static final Path TEST_DIRECTORY = Paths.get("test_partitions");
+    private static final Path TEST_TASKS_FILE = Paths.get("test_partition_tasks.csv");
+    private static final Path TEST_TASKS_LOG_FILE = Paths.get("test_partition_tasks.log");
+
+    private TaskPartitions partitions;
+
+    @Before
+    public void setUp() throws Exception {
+        deleteTestFiles();
+        partitions = new TaskPartitions(TEST_DIRECTORY);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        deleteTestFiles();
+    }
+
+    private void deleteTestFiles() throws Exception {
+        if (Files.isDirectory(TEST_DIRECTORY)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(TEST_DIRECTORY)) {
+                for (Path file : files) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(TEST_DIRECTORY);
+        }
+        Files.deleteIfExists(TEST_TASKS_FILE);
+        Files.deleteIfExists(TEST_TASKS_LOG_FILE);
+    }
+
+    private Task newTask(int taskId, String userId) {
+        return new Task(taskId, userId, "Task " + taskId, "", LocalDateTime.now().plusDays(1),
+                TaskStatus.INCOMPLETE, LocalDateTime.now(), PriorityLevel.MEDIUM);
+    }
+
+    @Test
+    public void testLoadReadsOnlyOneUser() throws Exception {
+        partitions.append(TaskLog.Operation.CREATE, newTask(1, "alice"));
+        partitions.append(TaskLog.Operation.CREATE, newTask(2, "bob"));
+        partitions.append(TaskLog.Operation.CREATE, newTask(3, "alice"));
+
+        List<Task> aliceTasks = partitions.loadUserTasks("alice");
+        assertEquals("Alice should have 2 tasks", 2, aliceTasks.size());
+        assertEquals("Bob should have 1 task", 1, partitions.loadUserTasks("bob").size());
+        assertEquals("All users together should have 3 tasks", 3, partitions.loadAllTasks().size());
+    }
+
+    @Test
+    public void testSegmentWithOnlyRotatedLogIsLoaded() throws Exception {
+        partitions.append(TaskLog.Operation.CREATE, newTask(1, "alice"));
+        partitions.append(TaskLog.Operation.CREATE, newTask(2, "bob"));
+
+        // Leave bob's segment as a crash mid-compaction would
+        String bobSegment = HexFormat.of().formatHex("bob".getBytes(StandardCharsets.UTF_8));
+        Files.move(TEST_DIRECTORY.resolve(bobSegment + ".log"),
+                TEST_DIRECTORY.resolve(bobSegment + ".log.compacting"));
+
+        TaskPartitions reopened = new TaskPartitions(TEST_DIRECTORY);
+        assertEquals("Tasks in a rotated log should be loaded", 2, reopened.loadAllTasks().size());
+
+        reopened.replaceAll(Collections.singletonList(newTask(1, "alice")));
+        assertTrue("Replacing every segment should clear the rotated log's user",
+                new TaskPartitions(TEST_DIRECTORY).loadUserTasks("bob").isEmpty());
+    }
+
+    @Test
+    public void testMigrateSingleTasksFile() throws Exception {
+        try (BufferedWriter writer = Files.newBufferedWriter(TEST_TASKS_FILE)) {
+            writer.write("task_id,user_id,title,description,due_date,status,created_at,priority");
+            writer.newLine();
+            writer.write("1,alice,Task 1,,2025-05-11T20:30,INCOMPLETE,2025-05-08T20:46:03,HIGH");
+            writer.newLine();
+            writer.write("2,bob,Task 2,,2025-05-12T20:30,COMPLETE,2025-05-08T20:47:03,LOW");
+            writer.newLine();
+        }
+
+        partitions.migrate(TEST_TASKS_FILE, TEST_TASKS_LOG_FILE);
+
+        assertTrue("Partition directory should exist", partitions.exists());
+        assertTrue("Source file should be left untouched", Files.exists(TEST_TASKS_FILE));
+        assertEquals("Alice should have 1 task", 1, partitions.loadUserTasks("alice").size());
+        assertEquals("Bob's task should keep its status", TaskStatus.COMPLETE,
+                partitions.loadUserTasks("bob").get(0).getStatus());
+    }
+}
@@ -0,0 +1,106 @@
+// tests/TaskQueryTest.java
+package tests;
+
+import model.*;
+import utils.ParallelQueries;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.time.LocalDateTime;
+import java.util.*;
+
+public class TaskQueryTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 5, 11, 12, 0);
+
+    private final List<Task> tasks = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 1; i <= 500; i++) {
+            LocalDateTime dueDate = i % 7 == 0 ? null : NOW.plusHours(random.nextInt(500));
+            tasks.add(new Task(i, "testuser", "Task " + i, i % 5 == 0 ? "Quarterly report" : "",
+                    dueDate, i % 3 == 0 ? TaskStatus.COMPLETE : TaskStatus.INCOMPLETE, NOW,
+                    PriorityLevel.values()[random.nextInt(4)]));
+        }
+    }
+
+    @Test
+    public void testCombinedFilters() {
+        List<Task> results = new TaskQuery().status(TaskStatus.INCOMPLETE)
+                .priority(PriorityLevel.HIGH, PriorityLevel.URGENT).text("REPORT").run(tasks);
+
+        assertFalse("Query should match some tasks", results.isEmpty());
+        for (Task task : results) {
+            assertEquals("Status should match", TaskStatus.INCOMPLETE, task.getStatus());
+            assertTrue("Priority should match", task.getPriority().compareTo(PriorityLevel.HIGH) >= 0);
+            assertEquals("Text should match", "Quarterly report", task.getDescription());
+        }
+    }
+
+    @Test
+    public void testDueDateRangeAndOrdering() {
+        List<Task> results = new TaskQuery().dueBetween(NOW.plusHours(100), NOW.plusHours(200))
+                .orderBy(TaskQuery.SortKey.PRIORITY, true).orderBy(TaskQuery.SortKey.DUE_DATE, false).run(tasks);
+
+        for (int i = 1; i < results.size(); i++) {
+            Task previous = results.get(i - 1);
+            Task task = results.get(i);
+            assertFalse("Due date should be in range", task.getDueDate().isBefore(NOW.plusHours(100)));
+            assertTrue("Due date should be in range", task.getDueDate().isBefore(NOW.plusHours(200)));
+            assertTrue("Priority should descend", previous.getPriority().compareTo(task.getPriority()) >= 0);
+            if (previous.getPriority() == task.getPriority()) {
+                assertFalse("Due date should ascend within a priority", task.getDueDate().isBefore(previous.getDueDate()));
+            }
+        }
+    }
+
+    @Test
+    public void testPageMatchesFullSort() {
+        List<Task> all = new TaskQuery().orderBy(TaskQuery.SortKey.DUE_DATE, false).run(tasks);
+        List<Task> page = new TaskQuery().orderBy(TaskQuery.SortKey.DUE_DATE, false).offset(40).limit(25).run(tasks);
+
+        assertEquals("Page should be cut from the full ordering", all.subList(40, 65), page);
+        assertNull("Tasks without a due date should sort last", all.get(all.size() - 1).getDueDate());
+    }
+
+    @Test
+    public void testEquality() {
+        TaskQuery query = new TaskQuery().status(TaskStatus.INCOMPLETE).orderBy(TaskQuery.SortKey.DUE_DATE, false);
+        TaskQuery same = new TaskQuery().status(TaskStatus.INCOMPLETE).orderBy(TaskQuery.SortKey.DUE_DATE, false);
+
+        assertEquals("Same queries should be equal", query, same);
+        assertEquals("Same queries should hash alike", query.hashCode(), same.hashCode());
+        assertEquals("Copy should equal the original", query, query.copy());
+        assertNotEquals("Sort direction should matter", query,
+                new TaskQuery().status(TaskStatus.INCOMPLETE).orderBy(TaskQuery.SortKey.DUE_DATE, true));
+
+        TaskQuery copy = query.copy();
+        query.limit(10);
+        assertNotEquals("Copy should not follow later changes", query, copy);
+    }
+
+    @Test
+    public void testParallelMatchesSequential() {
+        TaskQuery[] queries = {
+                new TaskQuery().status(TaskStatus.INCOMPLETE),
+                new TaskQuery().text("report").offset(5).limit(10),
+                new TaskQuery().orderBy(TaskQuery.SortKey.DUE_DATE, false),
+                new TaskQuery().priority(PriorityLevel.LOW, PriorityLevel.URGENT)
+                        .orderBy(TaskQuery.SortKey.PRIORITY, true).orderBy(TaskQuery.SortKey.TITLE, false),
+                new TaskQuery().orderBy(TaskQuery.SortKey.CREATED_AT, true).offset(30).limit(40)
+        };
+
+        for (TaskQuery query : queries) {
+            assertEquals("Parallel run should equal the sequential run",
+                    query.runSequential(tasks), query.runParallel(tasks));
+        }
+    }
+
+    @Test
+    public void testSequentialUntilCalibrated() {
+        // Nothing in this test run calibrates, so even huge queries stay sequential
+        assertFalse("Queries should not run in parallel before calibration", ParallelQueries.isWorthIt(1 << 24));
+        assertTrue("Summary should report the missing calibration",
+                ParallelQueries.describe().contains("not calibrated"));
+    }
+}
@@ -0,0 +1,208 @@
+// tests/TaskRepositoryTest.java
+package tests;
+
+import model.*;
+import utils.BinaryLogTaskRepository;
+import utils.FixedRecordTaskRepository;
+import utils.InMemoryTaskRepository;
+import utils.InMemoryUserRepository;
+import utils.TaskLog;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class TaskRepositoryTest {
+    private static final Path TEST_LOG_FILE = Paths.get("test_tasks.bin");
+    private static final Path TEST_SEQUENCE_FILE = Paths.get("test_tasks_bin.seq");
+    private static final Path TEST_RECORD_FILE = Paths.get("test_tasks.rec");
+    private static final Path TEST_HEAP_FILE = Paths.get("test_tasks.heap");
+
+    @Before
+    public void setUp() throws Exception {
+        deleteTestFiles();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        deleteTestFiles();
+    }
+
+    private void deleteTestFiles() throws Exception {
+        Files.deleteIfExists(TEST_LOG_FILE);
+        Files.deleteIfExists(TEST_SEQUENCE_FILE);
+        Files.deleteIfExists(TEST_RECORD_FILE);
+        Files.deleteIfExists(TEST_HEAP_FILE);
+    }
+
+    /**
+     * Runs the same create/update/delete sequence against any backend
+     */
+    private void checkRoundTrip(TaskRepository repository) throws Exception {
+        LocalDateTime dueDate = LocalDateTime.of(2025, 5, 11, 20, 30, 15, 123);
+        Task task1 = new Task(repository.nextTaskId(), "alice", "Task 1", "Description, with comma",
+                dueDate, TaskStatus.INCOMPLETE, LocalDateTime.now(), PriorityLevel.HIGH);
+        Task task2 = new Task(repository.nextTaskId(), "alice", "Task 2", null,
+                null, TaskStatus.INCOMPLETE, LocalDateTime.now(), PriorityLevel.LOW);
+        Task other = new Task(repository.nextTaskId(), "bob", "Other", "",
+                null, TaskStatus.INCOMPLETE, LocalDateTime.now(), PriorityLevel.LOW);
+
+        repository.create(task1);
+        repository.create(task2);
+        repository.create(other);
+
+        task1.setStatus(TaskStatus.COMPLETE);
+        repository.update(task1);
+        repository.delete(task2);
+
+        List<Task> tasks = repository.loadUserTasks("alice");
+        assertEquals("Alice should have 1 task", 1, tasks.size());
+        assertEquals("Update should be stored", TaskStatus.COMPLETE, tasks.get(0).getStatus());
+        assertEquals("Description should match", "Description, with comma", tasks.get(0).getDescription());
+        assertEquals("Due date should match", dueDate, tasks.get(0).getDueDate());
+        assertTrue("IDs should be unique", task1.getTaskId() != task2.getTaskId());
+    }
+
+    @Test
+    public void testInMemoryRepository() throws Exception {
+        checkRoundTrip(new InMemoryTaskRepository());
+    }
+
+    @Test
+    public void testBinaryLogRepository() throws Exception {
+        long writes = TaskLog.WRITE_METRICS.getWriteCount();
+        checkRoundTrip(new BinaryLogTaskRepository(TEST_LOG_FILE, TEST_SEQUENCE_FILE));
+        assertTrue("Appends should be counted in the task write metrics",
+                TaskLog.WRITE_METRICS.getWriteCount() > writes);
+
+        // A fresh instance reads the same log
+        BinaryLogTaskRepository reopened = new BinaryLogTaskRepository(TEST_LOG_FILE, TEST_SEQUENCE_FILE);
+        assertEquals("Reopened log should hold Alice's task", 1, reopened.loadUserTasks("alice").size());
+        assertEquals("Reopened log should hold Bob's task", 1, reopened.loadUserTasks("bob").size());
+    }
+
+    @Test
+    public void testBinaryLogAppendAfterTornRecord() throws Exception {
+        BinaryLogTaskRepository repository = new BinaryLogTaskRepository(TEST_LOG_FILE, TEST_SEQUENCE_FILE);
+        repository.create(new Task(1, "alice", "Task 1", null, null,
+                TaskStatus.INCOMPLETE, LocalDateTime.now(), PriorityLevel.LOW));
+        // A crash mid-append leaves the start of an update with no title
+        Files.write(TEST_LOG_FILE, new byte[] {1, 0, 0, 0, 1, 0, 0, 0, 5, 'a', 'l'}, StandardOpenOption.APPEND);
+
+        // Reopen the log as after a restart and keep writing
+        BinaryLogTaskRepository restarted = new BinaryLogTaskRepository(TEST_LOG_FILE, TEST_SEQUENCE_FILE);
+        restarted.create(new Task(2, "alice", "Task 2", null, null,
+                TaskStatus.INCOMPLETE, LocalDateTime.now(), PriorityLevel.LOW));
+
+        List<Task> tasks = restarted.loadUserTasks("alice");
+        assertEquals("Record written after the torn one should be kept", 2, tasks.size());
+        assertEquals("Torn update should be discarded", "Task 1", tasks.get(0).getTitle());
+        assertEquals("New record should be replayed", "Task 2", tasks.get(1).getTitle());
+    }
+
+    @Test
+    public void testFixedRecordRepository() throws Exception {
+        checkRoundTrip(new FixedRecordTaskRepository(TEST_RECORD_FILE, TEST_HEAP_FILE, TEST_SEQUENCE_FILE));
+
+        FixedRecordTaskRepository reopened =
+                new FixedRecordTaskRepository(TEST_RECORD_FILE, TEST_HEAP_FILE, TEST_SEQUENCE_FILE);
+        Task task = reopened.loadUserTasks("alice").get(0);
+        long recordSize = Files.size(TEST_RECORD_FILE);
+        long heapSize = Files.size(TEST_HEAP_FILE);
+
+        // A status or priority change rewrites the slot in place
+        task.setStatus(TaskStatus.INCOMPLETE);
+        task.setPriority(PriorityLevel.LOW);
+        reopened.update(task);
+        assertEquals("Record file should not grow", recordSize, Files.size(TEST_RECORD_FILE));
+        assertEquals("Heap should not grow", heapSize, Files.size(TEST_HEAP_FILE));
+
+        // Deleted slots are reused
+        reopened.create(new Task(reopened.nextTaskId(), "carol", "New", null, null,
+                TaskStatus.INCOMPLETE, LocalDateTime.now(), PriorityLevel.LOW));
+        assertEquals("Free slot should be reused", recordSize, Files.size(TEST_RECORD_FILE));
+
+        FixedRecordTaskRepository again =
+                new FixedRecordTaskRepository(TEST_RECORD_FILE, TEST_HEAP_FILE, TEST_SEQUENCE_FILE);
+        Task stored = again.loadUserTasks("alice").get(0);
+        assertEquals("Status change should be stored", TaskStatus.INCOMPLETE, stored.getStatus());
+        assertEquals("Priority change should be stored", PriorityLevel.LOW, stored.getPriority());
+        assertEquals("Bob's task should be kept", 1, again.loadUserTasks("bob").size());
+        assertEquals("Carol's task should be stored", 1, again.loadUserTasks("carol").size());
+    }
+
+    @Test
+    public void testFixedRecordTornStringsAreDropped() throws Exception {
+        FixedRecordTaskRepository repository =
+                new FixedRecordTaskRepository(TEST_RECORD_FILE, TEST_HEAP_FILE, TEST_SEQUENCE_FILE);
+        repository.create(new Task(1, "alice", "Alice's task", null, null,
+                TaskStatus.INCOMPLETE, LocalDateTime.now(), PriorityLevel.LOW));
+        repository.create(new Task(2, "bob", "Bob's task", "Details", null,
+                TaskStatus.INCOMPLETE, LocalDateTime.now(), PriorityLevel.LOW));
+
+        // A crash lost the end of the heap after Bob's slot reached the disk
+        try (FileChannel heap = FileChannel.open(TEST_HEAP_FILE, StandardOpenOption.WRITE)) {
+            heap.truncate(heap.size() - 3);
+        }
+
+        FixedRecordTaskRepository reopened =
+                new FixedRecordTaskRepository(TEST_RECORD_FILE, TEST_HEAP_FILE, TEST_SEQUENCE_FILE);
+        assertEquals("Other users' tasks should still load", 1, reopened.loadUserTasks("alice").size());
+        assertTrue("Torn task should be dropped", reopened.loadUserTasks("bob").isEmpty());
+
+        // The torn slot is free for the next task
+        long recordSize = Files.size(TEST_RECORD_FILE);
+        reopened.create(new Task(3, "bob", "Again", null, null,
+                TaskStatus.INCOMPLETE, LocalDateTime.now(), PriorityLevel.LOW));
+        assertEquals("Torn slot should be reused", recordSize, Files.size(TEST_RECORD_FILE));
+        assertEquals("New task should load", "Again", reopened.loadUserTasks("bob").get(0).getTitle());
+    }
+
+    @Test
+    public void testTaskManagerOnInMemoryBackend() throws Exception {
+        TaskManager taskManager = new TaskManager(new InMemoryTaskRepository(), new InMemoryUserRepository());
+        assertTrue("Registration should succeed", taskManager.register("alice", "password"));
+        assertTrue("Login should succeed", taskManager.login("alice", "password"));
+
+        taskManager.createTask("Task", "", null, PriorityLevel.MEDIUM);
+        taskManager.loadUserTasks();
+        assertEquals("Task should be loaded from the backend", 1, taskManager.getAllTasks().size());
+    }
+
+    @Test
+    public void testLoginUsesUserIndex() throws Exception {
+        TaskManager taskManager = new TaskManager(new InMemoryTaskRepository(), new InMemoryUserRepository());
+        assertTrue("Registration should succeed", taskManager.register("alice", "password"));
+        assertTrue("Registration should succeed", taskManager.register("bob", "secret"));
+        assertFalse("Duplicate username should be rejected", taskManager.register("alice", "other"));
+
+        assertTrue("Login should match the named user", taskManager.login("bob", "secret"));
+        assertFalse("Another user's password should not match", taskManager.login("bob", "password"));
+        assertFalse("Unknown user should not log in", taskManager.login("carol", "password"));
+    }
+
+    @Test
+    public void testConcurrentRegistrationClaimsNameOnce() throws Exception {
+        InMemoryUserRepository users = new InMemoryUserRepository();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < 8; i++) {
+                User user = new User("alice", "hash" + i);
+                results.add(executor.submit(() -> users.saveIfAbsent(user)));
+            }
+
+            int saved = 0;
+            for (Future<Boolean> result : results) {
+                saved += result.get() ? 1 : 0;
+            }
+            assertEquals("Only one registration should claim the name", 1, saved);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+// tests/TextIndexTest.java
+package tests;
+
+import model.*;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.time.LocalDateTime;
+import java.util.*;
+
+public class TextIndexTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 5, 11, 12, 0);
+    private static final String[] WORDS = {"quarterly", "report", "groceries", "dentist", "invoice", "review",
+            "garden", "renew", "passport", "quote"};
+
+    private TaskIndexes indexes;
+    private List<Task> tasks;
+
+    @Before
+    public void setUp() {
+        indexes = new TaskIndexes();
+        tasks = new ArrayList<>();
+        Random random = new Random(3);
+        for (int i = 1; i <= 400; i++) {
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+            String description = i % 4 == 0 ? null : "Ask about the " + WORDS[random.nextInt(WORDS.length)] + "!";
+            tasks.add(new Task(i, "testuser", title, description, NOW, TaskStatus.INCOMPLETE, NOW, PriorityLevel.LOW));
+        }
+        indexes.addAll(tasks);
+    }
+
+    @Test
+    public void testTokenize() {
+        assertEquals("Words should be split on punctuation and lowercased",
+                Arrays.asList("call", "bob", "re", "q3", "report"), TextIndex.tokenize("Call Bob, re: Q3-report"));
+        assertTrue("Blank text should have no words", TextIndex.tokenize("  ").isEmpty());
+    }
+
+    @Test
+    public void testSearchMatchesScan() {
+        for (String terms : new String[]{"report", "re", "QUART rep", "ask garden", "q", "missing", "pass renew"}) {
+            TaskQuery query = new TaskQuery().search(terms);
+            assertEquals("Index search should match a scan for \"" + terms + "\"",
+                    query.run(tasks), indexes.search(query.getSearchTerms()));
+        }
+    }
+
+    @Test
+    public void testPrefixAndAllTerms() {
+        Task task = tasks.get(0);
+        task.setTitle("Quarterly report");
+        task.setDescription("For the board");
+
+        assertTrue("Prefixes should match", indexes.search(TextIndex.tokenize("quar rep")).contains(task));
+        assertTrue("Description words should match", indexes.search(TextIndex.tokenize("board")).contains(task));
+        assertFalse("Every term should have to match", indexes.search(TextIndex.tokenize("board dentist")).contains(task));
+    }
+
+    @Test
+    public void testEditsAndDeletes() {
+        indexes.search(TextIndex.tokenize("report"));
+        Task task = tasks.get(1);
+        task.setTitle("Zeppelin tickets");
+
+        assertEquals("Renamed task should be found by its new title", Collections.singletonList(task),
+                indexes.search(TextIndex.tokenize("zepp")));
+
+        indexes.remove(task);
+        assertTrue("Removed task should not be found", indexes.search(TextIndex.tokenize("zepp")).isEmpty());
+    }
+}
@@ -0,0 +1,76 @@
+// tests/TrigramIndexTest.java
+package tests;
+
+import model.*;
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.time.LocalDateTime;
+import java.util.*;
+
+public class TrigramIndexTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 5, 11, 12, 0);
+    static final double MIN_SIMILARITY = 0.35;
+    private static final String[] WORDS = {"invoice", "client", "quarterly", "report", "dentist", "passport",
+            "renew", "garden", "groceries", "review", "meeting", "budget"};
+
+    static List<Task> createTasks(int count) {
+        Random random = new Random(11);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            // Mix common words with rare made-up ones, like real titles
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + Integer.toString(random.nextInt(1 << 24), 36);
+            tasks.add(new Task(i, "testuser", title, "", NOW, TaskStatus.INCOMPLETE, NOW, PriorityLevel.LOW));
+        }
+        return tasks;
+    }
+
+    static List<Task> bruteForce(List<Task> tasks, String text, int limit) {
+        List<String> terms = TextIndex.tokenize(text);
+        Map<Task, Double> scored = new IdentityHashMap<>();
+        for (Task task : tasks) {
+            scored.put(task, TextIndex.fuzzyScore(TextIndex.wordsOf(task), terms, MIN_SIMILARITY));
+        }
+        return TextIndex.rank(scored, limit);
+    }
+
+    @Test
+    public void testSimilarity() {
+        assertEquals("Equal words should be fully similar", 1.0, TrigramIndex.similarity("invoice", "invoice"), 1e-9);
+        assertEquals("Unrelated words should not be similar", 0.0, TrigramIndex.similarity("invoice", "garden"), 1e-9);
+        assertTrue("A transposition should keep words similar",
+                TrigramIndex.similarity("invioce", "invoice") >= MIN_SIMILARITY);
+    }
+
+    @Test
+    public void testMisspellingFindsTask() {
+        TaskIndexes indexes = new TaskIndexes();
+        Task invoice = new Task(1, "testuser", "Invoice client", "", NOW, TaskStatus.INCOMPLETE, NOW, PriorityLevel.LOW);
+        Task garden = new Task(2, "testuser", "Water the garden", "", NOW, TaskStatus.INCOMPLETE, NOW, PriorityLevel.LOW);
+        indexes.add(invoice);
+        indexes.add(garden);
+
+        assertEquals("Misspelled search should find the task", Collections.singletonList(invoice),
+                indexes.fuzzySearch(TextIndex.tokenize("invioce"), MIN_SIMILARITY, 10));
+
+        garden.setTitle("Send invoices");
+        assertEquals("Edited task should be found, exact match first", Arrays.asList(invoice, garden),
+                indexes.fuzzySearch(TextIndex.tokenize("invoice"), MIN_SIMILARITY, 10));
+
+        indexes.remove(invoice);
+        assertEquals("Removed task should not be found", Collections.singletonList(garden),
+                indexes.fuzzySearch(TextIndex.tokenize("invoice"), MIN_SIMILARITY, 10));
+    }
+
+    @Test
+    public void testMatchesBruteForce() {
+        List<Task> tasks = createTasks(2000);
+        TaskIndexes indexes = new TaskIndexes();
+        indexes.addAll(tasks);
+
+        for (String text : new String[]{"invioce", "quartely reprot", "pasport", "budgte clinet", "zzzz"}) {
+            assertEquals("Index should rank like a scan for \"" + text + "\"", bruteForce(tasks, text, 50),
+                    indexes.fuzzySearch(TextIndex.tokenize(text), MIN_SIMILARITY, 50));
+        }
+    }
+}
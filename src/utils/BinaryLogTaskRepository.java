@@ -0,0 +1,244 @@
+// utils/BinaryLogTaskRepository.java
+package utils;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+import model.*;
+
+/**
+ * Task storage in a single binary append-only log. Every mutation appends one
+ * compact record; loading a user's tasks replays the log and keeps only that
+ * user's records. Strings are length-prefixed UTF-8 and dates are stored as
+ * epoch seconds plus nanoseconds, so no text parsing happens on load.
+ * <p>
+ * Appends go through a {@link GroupCommitWriter} with the same batching,
+ * durability mode and write metrics as the {@link TaskLog}.
+ */
+public class BinaryLogTaskRepository implements TaskRepository {
+    private static final byte CREATE = 0;
+    private static final byte UPDATE = 1;
+    private static final byte DELETE = 2;
+
+    private final Path logFile;
+    private final TaskIdSequence taskIds;
+    private GroupCommitWriter writer;
+
+    public BinaryLogTaskRepository(Path logFile, Path sequenceFile) {
+        this.logFile = logFile;
+        this.taskIds = new TaskIdSequence(sequenceFile, this::highestTaskId);
+    }
+
+    @Override
+    public synchronized List<Task> loadUserTasks(String userId) throws IOException {
+        Map<Integer, Task> tasks = new LinkedHashMap<>();
+        replay(task -> task.getUserId().equals(userId), tasks);
+        return new ArrayList<>(tasks.values());
+    }
+
+    @Override
+    public void create(Task task) throws IOException {
+        append(CREATE, Collections.singletonList(task));
+    }
+
+    @Override
+    public void createAll(List<Task> tasks) throws IOException {
+        append(CREATE, tasks);
+    }
+
+    @Override
+    public void update(Task task) throws IOException {
+        append(UPDATE, Collections.singletonList(task));
+    }
+
+    @Override
+    public void delete(Task task) throws IOException {
+        append(DELETE, Collections.singletonList(task));
+    }
+
+    @Override
+    public int nextTaskId() throws IOException {
+        return taskIds.next();
+    }
+
+    /**
+     * Appends one record per task in a single write, returning once the
+     * records are as durable as {@code todo.durability.tasks} requires
+     */
+    private void append(byte operation, List<Task> tasks) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (Task task : tasks) {
+            out.writeByte(operation);
+            out.writeInt(task.getTaskId());
+            writeString(out, task.getUserId());
+            if (operation != DELETE) {
+                writeString(out, task.getTitle());
+                writeString(out, task.getDescription());
+                writeDateTime(out, task.getDueDate());
+                out.writeByte(task.getStatus().ordinal());
+                writeDateTime(out, task.getCreatedAt());
+                out.writeByte(task.getPriority().ordinal());
+            }
+        }
+
+        CompletableFuture<Void> written;
+        synchronized (this) {
+            if (writer == null) {
+                truncateTornTail();
+                writer = new GroupCommitWriter(logFile, TaskLog.DURABILITY, TaskLog.COMMIT_BATCH_SIZE,
+                        TaskLog.COMMIT_LATENCY_MILLIS, TaskLog.WRITE_METRICS);
+            }
+            written = writer.append(bytes.toByteArray());
+        }
+
+        // Wait outside the lock so concurrent appends can join the same batch
+        GroupCommitWriter.await(written);
+    }
+
+    /**
+     * Cuts off a torn record left at the end of the log by a crash, so the
+     * next append starts on a record boundary instead of being replayed as
+     * the rest of the torn one
+     */
+    private void truncateTornTail() throws IOException {
+        if (!Files.exists(logFile)) {
+            return;
+        }
+
+        long complete = replay(task -> false, new HashMap<>());
+        if (complete < Files.size(logFile)) {
+            System.err.println("Truncating torn record at the end of " + logFile);
+            try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+                channel.truncate(complete);
+                channel.force(true);
+            }
+        }
+    }
+
+    /**
+     * Applies every record whose task matches the filter, in log order
+     * @return The offset just past the last complete record
+     */
+    private long replay(Predicate<Task> filter, Map<Integer, Task> tasks) throws IOException {
+        if (!Files.exists(logFile)) {
+            return 0;
+        }
+
+        CountingInputStream counter = new CountingInputStream(new BufferedInputStream(
+                Files.newInputStream(logFile), 64 * 1024));
+        long complete = 0;
+        try (DataInputStream in = new DataInputStream(counter)) {
+            while (true) {
+                complete = counter.count;
+                int operation = in.read();
+                if (operation < 0) {
+                    break;
+                }
+
+                int taskId = in.readInt();
+                String userId = readString(in);
+                if (operation == DELETE) {
+                    tasks.remove(taskId);
+                    continue;
+                }
+
+                Task task = new Task(taskId, userId, readString(in), readString(in), readDateTime(in),
+                        TaskStatus.values()[in.readByte()], readDateTime(in), PriorityLevel.values()[in.readByte()]);
+                if (filter.test(task)) {
+                    tasks.put(taskId, task);
+                }
+            }
+        } catch (EOFException e) {
+            // A torn record at the end of the log is left by a crash mid-append
+            System.err.println("Ignoring incomplete record at the end of " + logFile);
+        }
+        return complete;
+    }
+
+    /**
+     * Finds the highest task ID in the log, to seed a new ID sequence
+     */
+    private synchronized int highestTaskId() throws IOException {
+        Map<Integer, Task> tasks = new HashMap<>();
+        replay(task -> true, tasks);
+        return tasks.keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    /**
+     * Counts the bytes read through it, to find where each record starts
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+// utils/BloomFilter.java
+package utils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Probabilistic set of strings. {@link #mightContain} never returns false for
+ * an added string, and returns true for an absent one with roughly the false
+ * positive rate the filter was sized for. Hashes are computed from the UTF-8
+ * bytes, so a filter written to disk reads back identically in any JVM.
+ */
+public class BloomFilter {
+    private final long[] bits;
+    private final int hashCount;
+    private final int capacity;
+    private int size;
+
+    /**
+     * Creates an empty filter sized for the expected number of strings
+     */
+    public BloomFilter(int capacity, double falsePositiveRate) {
+        this.capacity = Math.max(1, capacity);
+        long bitCount = (long) Math.ceil(-this.capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) Math.max(1, (bitCount + 63) / 64)];
+        this.hashCount = (int) Math.max(1, Math.round((double) bitCount / this.capacity * Math.log(2)));
+    }
+
+    private BloomFilter(long[] bits, int hashCount, int capacity, int size) {
+        this.bits = bits;
+        this.hashCount = hashCount;
+        this.capacity = capacity;
+        this.size = size;
+    }
+
+    public void add(String value) {
+        long hash = hash(value);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        long bitCount = bits.length * 64L;
+
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(hash1 + i * hash2) % bitCount;
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+        size++;
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        long bitCount = bits.length * 64L;
+
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(hash1 + i * hash2) % bitCount;
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of strings added
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether more strings were added than the filter was sized for
+     */
+    public boolean isOverCapacity() {
+        return size > capacity;
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(capacity);
+        out.writeInt(size);
+        out.writeInt(hashCount);
+        out.writeInt(bits.length);
+        for (long word : bits) {
+            out.writeLong(word);
+        }
+    }
+
+    public static BloomFilter readFrom(DataInputStream in) throws IOException {
+        int capacity = in.readInt();
+        int size = in.readInt();
+        int hashCount = in.readInt();
+        long[] bits = new long[in.readInt()];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = in.readLong();
+        }
+        return new BloomFilter(bits, hashCount, capacity, size);
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the UTF-8 bytes; the two halves seed double hashing
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        // FNV's low bits mix poorly; finish with a 64-bit avalanche
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
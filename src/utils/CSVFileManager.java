@@ -2,8 +2,10 @@
 package utils;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.time.LocalDateTime;
 import model.*;
 
@@ -11,24 +13,77 @@ import model.*;
  * Handles file operations for user and task data
  */
 public class CSVFileManager {
-    private static final String USERS_FILE = "users.csv";
+    static final String USERS_FILE = "users.csv";
     private static final String TASKS_FILE = "tasks.csv";
+    private static final String TASKS_LOG_FILE = "tasks.log";
+    private static final String TASKS_DIRECTORY = "tasks";
+    private static final String TASK_SEQUENCE_FILE = "tasks.seq";
+    static final String TASKS_HEADER = "task_id,user_id,title,description,due_date,status,created_at,priority";
+
+    private static final TaskPartitions PARTITIONS = new TaskPartitions(Paths.get(TASKS_DIRECTORY));
+    private static final DurabilityMode USER_DURABILITY =
+            DurabilityMode.fromSystemProperty("todo.durability.users", DurabilityMode.STRICT);
+    private static GroupCommitWriter userWriter;
 
     /**
-     * Saves a user to the users file
+     * Write latency of the users file
+     */
+    public static final WriteMetrics USER_WRITE_METRICS = new WriteMetrics("users");
+
+    private static final TaskIdSequence TASK_IDS =
+            new TaskIdSequence(Paths.get(TASK_SEQUENCE_FILE), CSVFileManager::highestTaskId);
+
+    /**
+     * Saves a user to the users file, returning once it is as durable as
+     * the {@code todo.durability.users} mode requires
      */
     public static void saveUser(User user) throws IOException {
-        // Create users file if it doesn't exist
-        if (!Files.exists(Paths.get(USERS_FILE))) {
-            createNewFileWithHeader(USERS_FILE, "username,password");
+        String record = CSVRecord.escape(user.getUsername()) + "," + CSVRecord.escape(user.getHashedPassword())
+                + System.lineSeparator();
+        CompletableFuture<Void> written;
+
+        synchronized (CSVFileManager.class) {
+            // Create users file if it doesn't exist
+            if (!Files.exists(Paths.get(USERS_FILE))) {
+                closeUserWriter();
+                createNewFileWithHeader(USERS_FILE, "username,password");
+            }
+
+            if (userWriter == null) {
+                userWriter = new GroupCommitWriter(Paths.get(USERS_FILE), USER_DURABILITY, 1, 0, USER_WRITE_METRICS);
+            }
+            written = userWriter.append(record.getBytes(StandardCharsets.UTF_8));
         }
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(USERS_FILE, true))) {
-            writer.write(user.getUsername() + "," + user.getHashedPassword());
-            writer.newLine();
+        GroupCommitWriter.await(written);
+    }
+
+    /**
+     * Closes the open users file, so it can be replaced
+     */
+    private static synchronized void closeUserWriter() throws IOException {
+        if (userWriter != null) {
+            userWriter.close();
+            userWriter = null;
         }
     }
 
+    /**
+     * Replaces the users file with the given users, e.g. after rehashing a password
+     */
+    public static synchronized void saveUsers(Collection<User> users) throws IOException {
+        // The appending writer would keep writing to the replaced file
+        closeUserWriter();
+        SnapshotWriter.write(Paths.get(USERS_FILE), writer -> {
+            writer.write("username,password");
+            writer.newLine();
+            for (User user : users) {
+                writer.write(CSVRecord.escape(user.getUsername()) + "," + CSVRecord.escape(user.getHashedPassword()));
+                writer.newLine();
+            }
+        });
+    }
+
     /**
      * Loads all users from the users file
      */
@@ -39,190 +94,223 @@ public class CSVFileManager {
             return users; // Return empty list if file doesn't exist
         }
 
-        List<String> lines = Files.readAllLines(Paths.get(USERS_FILE));
-
         // Skip header line
-        for (int i = 1; i < lines.size(); i++) {
-            String[] parts = lines.get(i).split(",");
-            if (parts.length == 2) {
-                users.add(new User(parts[0], parts[1]));
+        CSVRecordReader.forEach(Paths.get(USERS_FILE), true, (lineNumber, record) -> {
+            if (record.size() == 2) {
+                users.add(new User(record.get(0), record.get(1)));
+            } else {
+                System.err.println("Skipping user data at line " + lineNumber + " with " + record.size()
+                        + " columns instead of 2: " + record);
             }
-        }
+        });
 
         return users;
     }
 
     /**
-     * Saves a task to the tasks file
+     * Saves a task to its owner's task segment
      */
     public static void saveTask(Task task) throws IOException {
-        // Create tasks file if it doesn't exist
-        if (!Files.exists(Paths.get(TASKS_FILE))) {
-            createNewFileWithHeader(TASKS_FILE, "task_id,user_id,title,description,due_date,status,created_at,priority");
-        }
+        migrateTasksFile();
+        PARTITIONS.append(TaskLog.Operation.CREATE, task);
+    }
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(TASKS_FILE, true))) {
-            writer.write(task.getTaskId() + "," +
-                    task.getUserId() + "," +
-                    task.getTitle() + "," +
-                    task.getDescription() + "," +
-                    task.getDueDate() + "," +
-                    task.getStatus() + "," +
-                    task.getCreatedAt() + "," +
-                    task.getPriority());
-            writer.newLine();
-        }
+    /**
+     * Saves a batch of new tasks with one write per owner's segment
+     */
+    public static void saveNewTasks(List<Task> tasks) throws IOException {
+        migrateTasksFile();
+        PARTITIONS.appendAll(TaskLog.Operation.CREATE, tasks);
+    }
+
+    /**
+     * Records an update to an existing task without rewriting the tasks file
+     */
+    public static void updateTask(Task task) throws IOException {
+        migrateTasksFile();
+        PARTITIONS.append(TaskLog.Operation.UPDATE, task);
     }
 
     /**
-     * Loads all tasks from the tasks file
+     * Records the deletion of a task without rewriting the tasks file
+     */
+    public static void deleteTask(Task task) throws IOException {
+        migrateTasksFile();
+        PARTITIONS.append(TaskLog.Operation.DELETE, task);
+    }
+
+    /**
+     * Loads all tasks of every user, with pending log records applied
      */
     public static List<Task> loadTasks() throws IOException {
+        migrateTasksFile();
+        return PARTITIONS.loadAllTasks();
+    }
+
+    /**
+     * Loads the tasks of a single user, reading only that user's segment
+     */
+    public static List<Task> loadUserTasks(String userId) throws IOException {
+        migrateTasksFile();
+        return PARTITIONS.loadUserTasks(userId);
+    }
+
+    /**
+     * Splits a legacy single tasks file into per-user segments on first use
+     */
+    private static synchronized void migrateTasksFile() throws IOException {
+        if (!PARTITIONS.exists() && Files.exists(Paths.get(TASKS_FILE))) {
+            PARTITIONS.migrate(Paths.get(TASKS_FILE), Paths.get(TASKS_LOG_FILE));
+        }
+    }
+
+    /**
+     * Reads the tasks snapshot file without applying the mutation log
+     */
+    static List<Task> readSnapshot(Path file) throws IOException {
         List<Task> tasks = new ArrayList<>();
 
-        if (!Files.exists(Paths.get(TASKS_FILE))) {
+        if (!Files.exists(file)) {
             return tasks; // Return empty list if file doesn't exist
         }
 
-        List<String> lines = Files.readAllLines(Paths.get(TASKS_FILE));
-
         // Skip header line
-        for (int i = 1; i < lines.size(); i++) {
-            String[] parts = lines.get(i).split(",");
-            if (parts.length == 8) {
+        CSVRecordReader.forEach(file, true, (lineNumber, record) -> {
+            if (record.size() == 8) {
                 try {
-                    int taskId = Integer.parseInt(parts[0]);
-                    String userId = parts[1];
-                    String title = parts[2];
-                    String description = parts[3];
-                    LocalDateTime dueDate = LocalDateTime.parse(parts[4]);
-                    TaskStatus status = TaskStatus.valueOf(parts[5]);
-                    LocalDateTime createdAt = LocalDateTime.parse(parts[6]);
-                    PriorityLevel priority = PriorityLevel.valueOf(parts[7]);
-
-                    tasks.add(new Task(taskId, userId, title, description, dueDate, status, createdAt, priority));
+                    tasks.add(parseTask(record, 0));
                 } catch (Exception e) {
                     // Skip invalid line but log error
-                    System.err.println("Error parsing task data: " + lines.get(i));
+                    System.err.println("Error parsing task data at line " + lineNumber + ": " + record);
                     System.err.println("Error: " + e.getMessage());
                 }
+            } else {
+                System.err.println("Skipping task data at line " + lineNumber + " with " + record.size()
+                        + " columns instead of 8: " + record);
             }
-        }
+        });
 
         return tasks;
     }
 
+    /**
+     * Builds a task from the eight task columns of a record, starting at {@code offset}.
+     * The description and date columns are decoded on first access.
+     */
+    static Task parseTask(CSVRecord record, int offset) {
+        if (record.size() < offset + 8) {
+            throw new IllegalArgumentException("Expected 8 task columns but found " + (record.size() - offset));
+        }
+
+        int taskId = Integer.parseInt(record.get(offset));
+        String userId = record.get(offset + 1);
+        String title = record.get(offset + 2);
+        TaskStatus status = TaskStatus.valueOf(record.get(offset + 5));
+        PriorityLevel priority = PriorityLevel.valueOf(record.get(offset + 7));
+
+        // Dates are decoded lazily, so reject bad ones now rather than on first use
+        if (!record.isDateTime(offset + 6)) {
+            throw new IllegalArgumentException("Invalid created_at: " + record.get(offset + 6));
+        }
+        if (!record.isEmpty(offset + 4) && !record.isDateTime(offset + 4) && !"null".equals(record.get(offset + 4))) {
+            throw new IllegalArgumentException("Invalid due_date: " + record.get(offset + 4));
+        }
+
+        return new LazyTask(taskId, userId, title, status, priority, record.detach(), offset);
+    }
+
+    /**
+     * Formats a task as a tasks file row
+     */
+    static String toCsvRow(Task task) {
+        return task.getTaskId() + "," +
+                CSVRecord.escape(task.getUserId()) + "," +
+                CSVRecord.escape(task.getTitle()) + "," +
+                CSVRecord.escape(task.getDescription()) + "," +
+                task.getDueDate() + "," +
+                task.getStatus() + "," +
+                task.getCreatedAt() + "," +
+                task.getPriority();
+    }
+
+    /**
+     * Parses a date column, treating "null" or an empty value as a missing date
+     */
+    static LocalDateTime parseDateTime(String value) {
+        return value.isEmpty() || "null".equals(value) ? null : LocalDateTime.parse(value);
+    }
+
     /**
      * Creates a new CSV file with the specified header
      */
     private static void createNewFileWithHeader(String filename, String header) throws IOException {
-        Files.createFile(Paths.get(filename));
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
+        SnapshotWriter.write(Paths.get(filename), writer -> {
             writer.write(header);
             writer.newLine();
-        }
+        });
     }
 
     /**
-     * Saves multiple tasks to the tasks file
+     * Saves multiple tasks, atomically replacing the contents of every task segment
      */
     public static void saveTasks(List<Task> tasks) throws IOException {
-        // Overwrite existing file
-        boolean append = false;
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(TASKS_FILE, append))) {
-            writer.write("task_id,user_id,title,description,due_date,status,created_at,priority");
-            writer.newLine();
+        migrateTasksFile();
+        PARTITIONS.replaceAll(tasks);
+    }
 
-            for (Task task : tasks) {
-                writer.write(task.getTaskId() + "," +
-                        task.getUserId() + "," +
-                        task.getTitle() + "," +
-                        task.getDescription() + "," +
-                        task.getDueDate() + "," +
-                        task.getStatus() + "," +
-                        task.getCreatedAt() + "," +
-                        task.getPriority());
-                writer.newLine();
-            }
+    /**
+     * Writes a complete tasks snapshot
+     */
+    static void writeSnapshot(BufferedWriter writer, Collection<Task> tasks) throws IOException {
+        writer.write(TASKS_HEADER);
+        writer.newLine();
+
+        for (Task task : tasks) {
+            writer.write(toCsvRow(task));
+            writer.newLine();
         }
     }
 
     /**
-     * Exports selected tasks to a CSV file
+     * Exports selected tasks to a file. The format is picked from the file
+     * extension (.csv, .jsonl or .tdex), and a trailing .gz compresses the output.
      */
-    public static void exportTasks(List<Task> tasks, String filename, boolean includeDescription,
+    public static void exportTasks(Collection<Task> tasks, String filename, boolean includeDescription,
                                    boolean includeDueDate, boolean includePriority) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
-            // Build header based on selected fields
-            StringBuilder header = new StringBuilder("Title");
-            if (includeDescription) header.append(",Description");
-            if (includeDueDate) header.append(",Due Date");
-            if (includePriority) header.append(",Priority");
-
-            writer.write(header.toString());
-            writer.newLine();
-
-            // Build each task line based on selected fields
-            for (Task task : tasks) {
-                StringBuilder line = new StringBuilder(task.getTitle());
-                if (includeDescription) line.append(",").append(task.getDescription());
-                if (includeDueDate) line.append(",").append(task.getDueDate());
-                if (includePriority) line.append(",").append(task.getPriority());
-
-                writer.write(line.toString());
-                writer.newLine();
-            }
-        }
+        TaskExporter exporter = new TaskExporter(TaskExporter.Format.forFilename(filename),
+                filename.toLowerCase().endsWith(".gz"), includeDescription, includeDueDate, includePriority);
+        exporter.export(tasks.iterator(), Paths.get(filename));
     }
 
     /**
-     * Imports tasks from a CSV file
+     * Imports tasks from a CSV file without saving them
      */
     public static List<Task> importTasks(String filename, String userId) throws IOException {
         List<Task> importedTasks = new ArrayList<>();
-        List<String> lines = Files.readAllLines(Paths.get(filename));
-
-        // Assume first line is header
-        for (int i = 1; i < lines.size(); i++) {
-            String[] parts = lines.get(i).split(",");
-
-            if (parts.length >= 1) { // At least title is required
-                try {
-                    String title = parts[0];
-                    String description = (parts.length > 1) ? parts[1] : "";
-                    LocalDateTime dueDate = (parts.length > 2) ? LocalDateTime.parse(parts[2]) : null;
-                    PriorityLevel priority = (parts.length > 3) ? PriorityLevel.valueOf(parts[3].toUpperCase()) : PriorityLevel.MEDIUM;
-
-                    int taskId = generateTaskId();
-                    LocalDateTime createdAt = LocalDateTime.now();
-                    Task task = new Task(taskId, userId, title, description,
-                            dueDate, TaskStatus.INCOMPLETE, createdAt, priority);
-
-                    importedTasks.add(task);
-                } catch (Exception e) {
-                    // Skip invalid line but log error
-                    System.err.println("Error parsing imported task data: " + lines.get(i));
-                    System.err.println("Error: " + e.getMessage());
-                }
-            }
-        }
-
+        new TaskImportPipeline(userId, Collections.emptyList(), CSVFileManager::nextTaskId, importedTasks::addAll,
+                TaskImportPipeline.LOGGING_LISTENER).run(Paths.get(filename));
         return importedTasks;
     }
 
     /**
-     * Generates a unique task ID
+     * Allocates a unique task ID
+     */
+    public static int nextTaskId() throws IOException {
+        return TASK_IDS.next();
+    }
+
+    /**
+     * Finds the highest task ID in use, to seed a new ID sequence
      */
-    private static int generateTaskId() throws IOException {
-        List<Task> existingTasks = loadTasks();
+    private static int highestTaskId() throws IOException {
         int maxId = 0;
 
-        for (Task task : existingTasks) {
+        for (Task task : loadTasks()) {
             if (task.getTaskId() > maxId) {
                 maxId = task.getTaskId();
             }
         }
 
-        return maxId + 1;
+        return maxId;
     }
-}
\ No newline at end of file
+}
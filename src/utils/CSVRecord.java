@@ -0,0 +1,193 @@
+// utils/CSVRecord.java
+package utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Month;
+import java.time.Year;
+import java.util.Arrays;
+
+/**
+ * RFC 4180 tokenizer for a single CSV record. Fields are kept as offsets into
+ * a reusable byte buffer and only decoded into strings when asked for, so
+ * tokenizing a record allocates nothing. Quoted fields may contain commas,
+ * line breaks and doubled quotes; {@link #escape(String)} produces the same
+ * quoting on the write side.
+ */
+public class CSVRecord {
+    private byte[] buffer;
+    private int length;
+    private int size;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private boolean[] quoted = new boolean[16];
+
+    /**
+     * Tokenizes the first {@code length} bytes of the buffer, replacing the
+     * previous record. The buffer must not change while the record is in use.
+     */
+    public void tokenize(byte[] buffer, int length) {
+        this.buffer = buffer;
+        this.length = length;
+        size = 0;
+
+        int i = 0;
+        while (true) {
+            int start = i;
+            int end;
+            boolean isQuoted = i < length && buffer[i] == '"';
+
+            if (isQuoted) {
+                start = ++i;
+                while (i < length && !(buffer[i] == '"' && (i + 1 >= length || buffer[i + 1] != '"'))) {
+                    i += buffer[i] == '"' ? 2 : 1;
+                }
+                end = i;
+                // Tolerate stray characters between the closing quote and the delimiter
+                while (i < length && buffer[i] != ',') {
+                    i++;
+                }
+            } else {
+                while (i < length && buffer[i] != ',') {
+                    i++;
+                }
+                end = i;
+            }
+
+            addField(start, end, isQuoted);
+            if (i >= length) {
+                break;
+            }
+            i++; // Skip the delimiter
+        }
+    }
+
+    /**
+     * Gets the number of fields in the record
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Decodes a field, unescaping doubled quotes in quoted fields
+     */
+    public String get(int index) {
+        String value = new String(buffer, starts[index], ends[index] - starts[index], StandardCharsets.UTF_8);
+        return quoted[index] ? value.replace("\"\"", "\"") : value;
+    }
+
+    /**
+     * Returns whether a field is empty, without decoding it
+     */
+    public boolean isEmpty(int index) {
+        return starts[index] == ends[index];
+    }
+
+    /**
+     * Returns whether a field holds a valid ISO local date-time such as
+     * 2025-05-11T20:30, 2025-05-11T20:30:15 or 2025-05-11T20:30:15.5, so it
+     * can be checked on load without being parsed
+     */
+    public boolean isDateTime(int index) {
+        int i = starts[index];
+        int end = ends[index];
+        if (end - i < 16 || buffer[i + 4] != '-' || buffer[i + 7] != '-' || buffer[i + 10] != 'T'
+                || buffer[i + 13] != ':') {
+            return false;
+        }
+
+        int year = digits(i, 4);
+        int month = digits(i + 5, 2);
+        int day = digits(i + 8, 2);
+        int hour = digits(i + 11, 2);
+        int minute = digits(i + 14, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return false;
+        }
+
+        i += 16;
+        if (i == end) {
+            return true;
+        }
+        if (end - i < 3 || buffer[i] != ':' || digits(i + 1, 2) < 0 || digits(i + 1, 2) > 59) {
+            return false;
+        }
+
+        i += 3;
+        if (i == end) {
+            return true;
+        }
+        int fractionDigits = end - i - 1;
+        return buffer[i] == '.' && fractionDigits >= 1 && fractionDigits <= 9 && digits(i + 1, fractionDigits) >= 0;
+    }
+
+    /**
+     * Reads a run of ASCII digits
+     * @return The value, or -1 if any byte is not a digit
+     */
+    private int digits(int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            if (buffer[i] < '0' || buffer[i] > '9') {
+                return -1;
+            }
+            value = value * 10 + (buffer[i] - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Copies the record into its own buffer so it outlives the reader's buffer
+     */
+    public CSVRecord detach() {
+        CSVRecord copy = new CSVRecord();
+        copy.buffer = Arrays.copyOf(buffer, length);
+        copy.length = length;
+        copy.size = size;
+        copy.starts = Arrays.copyOf(starts, size);
+        copy.ends = Arrays.copyOf(ends, size);
+        copy.quoted = Arrays.copyOf(quoted, size);
+        return copy;
+    }
+
+    /**
+     * Gets the raw text of the record
+     */
+    @Override
+    public String toString() {
+        return new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Quotes a value if it contains a delimiter, quote or line break
+     */
+    public static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+
+        return value;
+    }
+
+    private void addField(int start, int end, boolean isQuoted) {
+        if (size == starts.length) {
+            int capacity = Math.max(16, size * 2);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            quoted = Arrays.copyOf(quoted, capacity);
+        }
+
+        starts[size] = start;
+        ends[size] = end;
+        quoted[size] = isQuoted;
+        size++;
+    }
+}
@@ -0,0 +1,186 @@
+// utils/CSVRecordReader.java
+package utils;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+/**
+ * Streams the records of a CSV file through a window read from the file with
+ * positional reads. Only one reusable window, one reusable record buffer and
+ * one {@link CSVRecord} are held at a time, so memory stays bounded however
+ * large the file is. Line breaks inside quoted fields do not end a record.
+ * <p>
+ * The file is not memory-mapped: on Windows a mapped file cannot be replaced
+ * or truncated until the mapping is garbage collected, and the task log does
+ * both right after reading.
+ */
+public class CSVRecordReader {
+    private static final int WINDOW_SIZE = 8 * 1024 * 1024;
+
+    /**
+     * Receives each record of the file
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+        void accept(int lineNumber, CSVRecord record) throws IOException;
+    }
+
+    private final FileChannel channel;
+    private final RecordHandler handler;
+    private final CSVRecord record = new CSVRecord();
+    private byte[] recordBuffer = new byte[256];
+    private int lineNumber;
+
+    private CSVRecordReader(FileChannel channel, RecordHandler handler) {
+        this.channel = channel;
+        this.handler = handler;
+    }
+
+    /**
+     * Passes every non-blank record of the file to the handler, in order
+     */
+    public static void forEach(Path file, boolean skipHeader, RecordHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            CSVRecordReader reader = new CSVRecordReader(channel, (lineNumber, record) -> {
+                if (!skipHeader || lineNumber > 1) {
+                    handler.accept(lineNumber, record);
+                }
+            });
+            reader.read();
+        }
+    }
+
+    /**
+     * Gets the length of the file up to the end of its last complete record,
+     * i.e. without a torn record left by a crash in the middle of an append
+     */
+    public static long completeLength(Path file) throws IOException {
+        long complete = 0;
+        long position = 0;
+        Boundaries boundaries = new Boundaries();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            int b;
+            while ((b = in.read()) != -1) {
+                position++;
+                if (boundaries.endsRecord((byte) b)) {
+                    complete = position;
+                }
+            }
+        }
+        return complete;
+    }
+
+    /**
+     * Finds the line breaks that end records, following the quoting rules of
+     * {@link CSVRecord}: only a quote opening a field starts a quoted
+     * section, in which a doubled quote is an escaped quote. A stray quote
+     * mid-field, as in titles written unescaped by older versions, is plain
+     * text.
+     */
+    private static class Boundaries {
+        private static final int FIELD_START = 0;
+        private static final int UNQUOTED = 1;
+        private static final int QUOTED = 2;
+        private static final int QUOTE_IN_QUOTED = 3;
+
+        private int state = FIELD_START;
+
+        boolean endsRecord(byte b) {
+            if (state == QUOTED) {
+                if (b == '"') {
+                    state = QUOTE_IN_QUOTED;
+                }
+                return false;
+            }
+            if (b == '"' && (state == FIELD_START || state == QUOTE_IN_QUOTED)) {
+                // Opens a quoted field, or is the second half of an escaped quote
+                state = QUOTED;
+                return false;
+            }
+
+            if (b == ',') {
+                state = FIELD_START;
+            } else if (b == '\n') {
+                state = FIELD_START;
+                return true;
+            } else {
+                state = UNQUOTED;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Walks the file one window at a time
+     */
+    private void read() throws IOException {
+        long size = channel.size();
+        long position = 0;
+        ByteBuffer window = ByteBuffer.allocate((int) Math.min(WINDOW_SIZE, size));
+
+        while (position < size) {
+            int length = fill(window, position, (int) Math.min(window.capacity(), size - position));
+            boolean lastWindow = position + length == size || length < window.capacity();
+
+            int recordStart = 0;
+            Boundaries boundaries = new Boundaries();
+            for (int i = 0; i < length; i++) {
+                if (boundaries.endsRecord(window.get(i))) {
+                    emit(window, recordStart, i);
+                    recordStart = i + 1;
+                }
+            }
+
+            if (lastWindow) {
+                if (recordStart < length) {
+                    emit(window, recordStart, length);
+                }
+                position = size;
+            } else if (recordStart == 0) {
+                // A single record is longer than the window
+                window = ByteBuffer.allocate((int) Math.min((long) window.capacity() * 2, Integer.MAX_VALUE - 8));
+            } else {
+                // Read again from the start of the unfinished record
+                position += recordStart;
+            }
+        }
+    }
+
+    /**
+     * Reads up to {@code length} bytes at the position into the window
+     * @return The number of bytes read, short only if the file shrank
+     */
+    private int fill(ByteBuffer window, long position, int length) throws IOException {
+        window.clear().limit(length);
+        while (window.hasRemaining()) {
+            if (channel.read(window, position + window.position()) < 0) {
+                break;
+            }
+        }
+        return window.position();
+    }
+
+    /**
+     * Tokenizes the bytes of one record and hands it to the handler
+     */
+    private void emit(ByteBuffer window, int start, int end) throws IOException {
+        lineNumber++;
+        if (end > start && window.get(end - 1) == '\r') {
+            end--;
+        }
+        if (end == start) {
+            return; // Skip blank lines
+        }
+
+        int length = end - start;
+        if (recordBuffer.length < length) {
+            recordBuffer = new byte[Math.max(length, recordBuffer.length * 2)];
+        }
+        window.get(start, recordBuffer, 0, length);
+
+        record.tokenize(recordBuffer, length);
+        handler.accept(lineNumber, record);
+    }
+}
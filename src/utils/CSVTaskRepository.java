@@ -0,0 +1,41 @@
+// utils/CSVTaskRepository.java
+package utils;
+
+import java.io.IOException;
+import java.util.List;
+import model.*;
+
+/**
+ * Task storage in the per-user CSV segments managed by {@link CSVFileManager}
+ */
+public class CSVTaskRepository implements TaskRepository {
+    @Override
+    public List<Task> loadUserTasks(String userId) throws IOException {
+        return CSVFileManager.loadUserTasks(userId);
+    }
+
+    @Override
+    public void create(Task task) throws IOException {
+        CSVFileManager.saveTask(task);
+    }
+
+    @Override
+    public void createAll(List<Task> tasks) throws IOException {
+        CSVFileManager.saveNewTasks(tasks);
+    }
+
+    @Override
+    public void update(Task task) throws IOException {
+        CSVFileManager.updateTask(task);
+    }
+
+    @Override
+    public void delete(Task task) throws IOException {
+        CSVFileManager.deleteTask(task);
+    }
+
+    @Override
+    public int nextTaskId() throws IOException {
+        return CSVFileManager.nextTaskId();
+    }
+}
@@ -0,0 +1,188 @@
+// utils/CSVUserRepository.java
+package utils;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import model.*;
+
+/**
+ * User storage in the users.csv file managed by {@link CSVFileManager}.
+ * Users are indexed by username in memory; the index is rebuilt only when
+ * the file changes behind its back.
+ * <p>
+ * A Bloom filter of usernames is persisted in users.bloom together with the
+ * size of the users file it covers. Lookups of names the filter has never
+ * seen are answered without reading users.csv at all; a filter that does not
+ * match the current file is rebuilt from it.
+ */
+public class CSVUserRepository implements UserRepository {
+    private static final Path BLOOM_FILE = Paths.get("users.bloom");
+    private static final int BLOOM_MAGIC = 0x55424c4d;
+    private static final int BLOOM_MIN_CAPACITY = 1024;
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
+    private final Map<String, User> usersByName = new LinkedHashMap<>();
+    private String loadedStamp;
+
+    private BloomFilter usernames;
+    private long usernamesCoverSize = -1;
+
+    @Override
+    public synchronized List<User> loadUsers() throws IOException {
+        refresh();
+        return new ArrayList<>(usersByName.values());
+    }
+
+    @Override
+    public synchronized User findByUsername(String username) throws IOException {
+        if (!usernames().mightContain(username)) {
+            return null;
+        }
+        refresh();
+        return usersByName.get(username);
+    }
+
+    @Override
+    public synchronized void save(User user) throws IOException {
+        refresh();
+        usernames();
+        CSVFileManager.saveUser(user);
+        usersByName.put(user.getUsername(), user);
+        loadedStamp = stamp();
+        addUsername(user.getUsername());
+    }
+
+    @Override
+    public synchronized boolean saveIfAbsent(User user) throws IOException {
+        if (findByUsername(user.getUsername()) != null) {
+            return false;
+        }
+
+        // Keep the index only if it was current before this append
+        boolean indexCurrent = stamp().equals(loadedStamp);
+        CSVFileManager.saveUser(user);
+        if (indexCurrent) {
+            usersByName.put(user.getUsername(), user);
+            loadedStamp = stamp();
+        }
+        addUsername(user.getUsername());
+        return true;
+    }
+
+    @Override
+    public synchronized void update(User user) throws IOException {
+        refresh();
+        usernames();
+        if (usersByName.replace(user.getUsername(), user) == null) {
+            throw new IOException("User " + user.getUsername() + " is not registered");
+        }
+
+        // Same names, so the filter stays valid for the rewritten file
+        CSVFileManager.saveUsers(usersByName.values());
+        loadedStamp = stamp();
+        usernamesCoverSize = usersFileSize();
+        writeBloomFile();
+    }
+
+    /**
+     * Reloads the index if the users file was changed by someone else
+     */
+    private void refresh() throws IOException {
+        String stamp = stamp();
+        if (stamp.equals(loadedStamp)) {
+            return;
+        }
+
+        usersByName.clear();
+        for (User user : CSVFileManager.loadUsers()) {
+            usersByName.put(user.getUsername(), user);
+        }
+        loadedStamp = stamp;
+    }
+
+    /**
+     * Gets the username filter, loading or rebuilding it if it does not cover the users file
+     */
+    private BloomFilter usernames() throws IOException {
+        long usersFileSize = usersFileSize();
+        if (usernames != null && usernamesCoverSize == usersFileSize) {
+            return usernames;
+        }
+
+        usernames = readBloomFile(usersFileSize);
+        if (usernames == null) {
+            rebuildUsernames();
+        }
+        usernamesCoverSize = usersFileSize;
+        return usernames;
+    }
+
+    /**
+     * Adds a just-saved username to the filter, which must have been loaded before the save
+     */
+    private void addUsername(String username) throws IOException {
+        usernames.add(username);
+        if (usernames.isOverCapacity()) {
+            rebuildUsernames();
+            return;
+        }
+        usernamesCoverSize = usersFileSize();
+        writeBloomFile();
+    }
+
+    private void rebuildUsernames() throws IOException {
+        refresh();
+        usernames = new BloomFilter(Math.max(BLOOM_MIN_CAPACITY, usersByName.size() * 2), BLOOM_FALSE_POSITIVE_RATE);
+        for (String username : usersByName.keySet()) {
+            usernames.add(username);
+        }
+        usernamesCoverSize = usersFileSize();
+        writeBloomFile();
+    }
+
+    /**
+     * Reads the persisted filter if it covers a users file of the given size
+     */
+    private static BloomFilter readBloomFile(long usersFileSize) {
+        if (!Files.exists(BLOOM_FILE)) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(BLOOM_FILE)))) {
+            if (in.readInt() != BLOOM_MAGIC || in.readLong() != usersFileSize) {
+                return null;
+            }
+            return BloomFilter.readFrom(in);
+        } catch (IOException e) {
+            System.err.println("Error reading " + BLOOM_FILE + ", rebuilding it: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeBloomFile() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(BLOOM_MAGIC);
+            out.writeLong(usernamesCoverSize);
+            usernames.writeTo(out);
+        }
+        SnapshotWriter.write(BLOOM_FILE, bytes.toByteArray());
+    }
+
+    private static long usersFileSize() throws IOException {
+        Path file = Paths.get(CSVFileManager.USERS_FILE);
+        return Files.exists(file) ? Files.size(file) : 0;
+    }
+
+    /**
+     * Identifies the current version of the users file by its size and modification time
+     */
+    private static String stamp() throws IOException {
+        Path file = Paths.get(CSVFileManager.USERS_FILE);
+        if (!Files.exists(file)) {
+            return "";
+        }
+        return Files.size(file) + "@" + Files.getLastModifiedTime(file);
+    }
+}
@@ -0,0 +1,37 @@
+// utils/DurabilityMode.java
+package utils;
+
+/**
+ * How hard a store pushes its writes to disk before acknowledging them
+ */
+public enum DurabilityMode {
+    /**
+     * Force every record to disk before acknowledging it
+     */
+    STRICT,
+
+    /**
+     * Force once every {@code todo.durability.groupRecords} records or
+     * {@code todo.durability.groupMillis} milliseconds, acknowledging records
+     * when the force that covers them completes
+     */
+    GROUPED,
+
+    /**
+     * Acknowledge records once written to the OS, leaving flushing to it
+     */
+    ASYNC;
+
+    /**
+     * Gets the mode named by a system property, e.g. {@code -Dtodo.durability.tasks=strict}
+     */
+    public static DurabilityMode fromSystemProperty(String property, DurabilityMode defaultMode) {
+        String name = System.getProperty(property, defaultMode.name());
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown durability mode '" + name + "' for " + property + ", using " + defaultMode);
+            return defaultMode;
+        }
+    }
+}
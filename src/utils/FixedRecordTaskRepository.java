@@ -0,0 +1,412 @@
+// utils/FixedRecordTaskRepository.java
+package utils;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.*;
+import model.*;
+
+/**
+ * Task storage in fixed-width binary records. Each task owns one slot in the
+ * record file holding its id, status, priority and timestamps, plus references
+ * into an append-only string heap for the user id, title and description.
+ * An index of slot positions keyed by task id is built on open, so a status or
+ * priority change is a single positioned write into the task's slot; only a
+ * changed string appends to the heap. Deleted slots are reused by new tasks.
+ * <p>
+ * Strings replaced by an update stay in the heap as garbage. Records are
+ * forced to disk after each mutation when {@code todo.durability.tasks} is
+ * STRICT, and in GROUPED mode once per group of mutations, like the log;
+ * a mutation returns once the force covering it completes. A slot whose
+ * strings never reached the heap before a crash is dropped on open.
+ */
+public class FixedRecordTaskRepository implements TaskRepository {
+    // Slot layout: id, live flag, status, priority, padding, due date, created at,
+    // then offset and length of the user id, title and description
+    private static final int RECORD_SIZE = 68;
+    private static final int SCALARS_OFFSET = 4;
+    private static final int SCALARS_SIZE = 28;
+    private static final int STRINGS_OFFSET = SCALARS_OFFSET + SCALARS_SIZE;
+
+    private static final byte DELETED = 0;
+    private static final byte LIVE = 1;
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private static final DurabilityMode DURABILITY =
+            DurabilityMode.fromSystemProperty("todo.durability.tasks", DurabilityMode.GROUPED);
+
+    // Forces writes left unforced once their group's interval has passed
+    private static final ScheduledExecutorService FORCER = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "record-forcer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path recordFile;
+    private final Path heapFile;
+    private final TaskIdSequence taskIds;
+
+    private FileChannel records;
+    private FileChannel heap;
+    private final Map<Integer, Long> slots = new HashMap<>();
+    private final Map<String, Set<Integer>> taskIdsByUser = new HashMap<>();
+    private final Deque<Long> freeSlots = new ArrayDeque<>();
+
+    // Mutations written but not yet forced, in GROUPED mode, and the force
+    // that will cover them
+    private int unforced;
+    private CompletableFuture<Void> group;
+
+    public FixedRecordTaskRepository(Path recordFile, Path heapFile, Path sequenceFile) {
+        this.recordFile = recordFile;
+        this.heapFile = heapFile;
+        this.taskIds = new TaskIdSequence(sequenceFile, this::highestTaskId);
+    }
+
+    @Override
+    public synchronized List<Task> loadUserTasks(String userId) throws IOException {
+        open();
+        List<Task> tasks = new ArrayList<>();
+
+        for (int taskId : taskIdsByUser.getOrDefault(userId, Collections.emptySet())) {
+            tasks.add(readTask(readSlot(slots.get(taskId))));
+        }
+
+        return tasks;
+    }
+
+    @Override
+    public void create(Task task) throws IOException {
+        createAll(Collections.singletonList(task));
+    }
+
+    @Override
+    public void createAll(List<Task> tasks) throws IOException {
+        CompletableFuture<Void> forced;
+        synchronized (this) {
+            open();
+
+            // Strings go to the heap first, so a slot never points past its end
+            List<ByteBuffer> newSlots = new ArrayList<>();
+            for (Task task : tasks) {
+                ByteBuffer slot = ByteBuffer.allocate(RECORD_SIZE);
+                slot.putInt(task.getTaskId());
+                putScalars(slot, task);
+                putString(slot, task.getUserId());
+                putString(slot, task.getTitle());
+                putString(slot, task.getDescription());
+                newSlots.add(slot.flip());
+            }
+            forceHeap();
+
+            for (int i = 0; i < tasks.size(); i++) {
+                Task task = tasks.get(i);
+                Long position = freeSlots.poll();
+                if (position == null) {
+                    position = records.size();
+                }
+                writeFully(records, newSlots.get(i), position);
+
+                slots.put(task.getTaskId(), position);
+                taskIdsByUser.computeIfAbsent(task.getUserId(), id -> new LinkedHashSet<>()).add(task.getTaskId());
+            }
+            forced = forceByMode(tasks.size());
+        }
+
+        // Wait outside the lock so concurrent mutations can join the same force
+        GroupCommitWriter.await(forced);
+    }
+
+    @Override
+    public void update(Task task) throws IOException {
+        CompletableFuture<Void> forced;
+        synchronized (this) {
+            open();
+            Long position = slots.get(task.getTaskId());
+            if (position == null) {
+                throw new IOException("Task " + task.getTaskId() + " is not stored");
+            }
+
+            ByteBuffer stored = readSlot(position);
+            ByteBuffer scalars = ByteBuffer.allocate(SCALARS_SIZE);
+            putScalars(scalars, task);
+
+            if (sameString(stored, 0, task.getUserId()) && sameString(stored, 1, task.getTitle())
+                    && sameString(stored, 2, task.getDescription())) {
+                // Status, priority or date change: rewrite the scalar fields in place
+                writeFully(records, scalars.flip(), position + SCALARS_OFFSET);
+            } else {
+                ByteBuffer slot = ByteBuffer.allocate(RECORD_SIZE);
+                slot.putInt(task.getTaskId());
+                slot.put(scalars.flip());
+                putString(slot, task.getUserId());
+                putString(slot, task.getTitle());
+                putString(slot, task.getDescription());
+                forceHeap();
+                writeFully(records, slot.flip(), position);
+
+                String previousUserId = readString(stored, 0);
+                if (!previousUserId.equals(task.getUserId())) {
+                    taskIdsByUser.get(previousUserId).remove(task.getTaskId());
+                    taskIdsByUser.computeIfAbsent(task.getUserId(), id -> new LinkedHashSet<>()).add(task.getTaskId());
+                }
+            }
+            forced = forceByMode(1);
+        }
+        GroupCommitWriter.await(forced);
+    }
+
+    @Override
+    public void delete(Task task) throws IOException {
+        CompletableFuture<Void> forced;
+        synchronized (this) {
+            open();
+            Long position = slots.remove(task.getTaskId());
+            if (position == null) {
+                return;
+            }
+
+            writeFully(records, ByteBuffer.wrap(new byte[] {DELETED}), position + SCALARS_OFFSET);
+            forced = forceByMode(1);
+
+            Set<Integer> userTaskIds = taskIdsByUser.get(task.getUserId());
+            if (userTaskIds != null) {
+                userTaskIds.remove(task.getTaskId());
+            }
+            freeSlots.add(position);
+        }
+        GroupCommitWriter.await(forced);
+    }
+
+    @Override
+    public int nextTaskId() throws IOException {
+        return taskIds.next();
+    }
+
+    /**
+     * Opens both files and builds the slot index from the record file
+     */
+    private void open() throws IOException {
+        if (records != null) {
+            return;
+        }
+
+        records = FileChannel.open(recordFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        heap = FileChannel.open(heapFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+
+        // A partial slot at the end is left by a crash mid-append
+        long size = records.size() - records.size() % RECORD_SIZE;
+        if (size != records.size()) {
+            System.err.println("Ignoring incomplete record at the end of " + recordFile);
+            records.truncate(size);
+        }
+
+        long heapSize = heap.size();
+        for (long position = 0; position < size; position += RECORD_SIZE) {
+            ByteBuffer slot = readSlot(position);
+            int taskId = slot.getInt(0);
+            if (slot.get(SCALARS_OFFSET) == LIVE && !stringsFit(slot, heapSize)) {
+                // A slot written before its strings reached the disk is torn by a crash
+                System.err.println("Dropping task " + taskId + ", whose strings are missing from " + heapFile);
+                writeFully(records, ByteBuffer.wrap(new byte[] {DELETED}), position + SCALARS_OFFSET);
+                freeSlots.add(position);
+            } else if (slot.get(SCALARS_OFFSET) == LIVE) {
+                slots.put(taskId, position);
+                taskIdsByUser.computeIfAbsent(readString(slot, 0), id -> new LinkedHashSet<>()).add(taskId);
+            } else {
+                freeSlots.add(position);
+            }
+        }
+    }
+
+    /**
+     * Finds the highest task ID in the record file, to seed a new ID sequence
+     */
+    private synchronized int highestTaskId() throws IOException {
+        open();
+        return slots.keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    /**
+     * Checks that every string a slot references lies within the heap
+     */
+    private static boolean stringsFit(ByteBuffer slot, long heapSize) {
+        for (int column = 0; column < 3; column++) {
+            int base = STRINGS_OFFSET + column * 12;
+            long offset = slot.getLong(base);
+            int length = slot.getInt(base + 8);
+            if (length >= 0 && (offset < 0 || offset + length > heapSize)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ByteBuffer readSlot(long position) throws IOException {
+        ByteBuffer slot = ByteBuffer.allocate(RECORD_SIZE);
+        while (slot.hasRemaining()) {
+            if (records.read(slot, position + slot.position()) < 0) {
+                throw new EOFException("Truncated record at " + position + " in " + recordFile);
+            }
+        }
+        return slot.flip();
+    }
+
+    private Task readTask(ByteBuffer slot) throws IOException {
+        int taskId = slot.getInt(0);
+        TaskStatus status = TaskStatus.values()[slot.get(SCALARS_OFFSET + 1)];
+        PriorityLevel priority = PriorityLevel.values()[slot.get(SCALARS_OFFSET + 2)];
+        LocalDateTime dueDate = getDateTime(slot, SCALARS_OFFSET + 4);
+        LocalDateTime createdAt = getDateTime(slot, SCALARS_OFFSET + 16);
+
+        return new Task(taskId, readString(slot, 0), readString(slot, 1), readString(slot, 2),
+                dueDate, status, createdAt, priority);
+    }
+
+    /**
+     * Writes the live flag, status, priority and both dates
+     */
+    private static void putScalars(ByteBuffer buffer, Task task) {
+        buffer.put(LIVE);
+        buffer.put((byte) task.getStatus().ordinal());
+        buffer.put((byte) task.getPriority().ordinal());
+        buffer.put((byte) 0);
+        putDateTime(buffer, task.getDueDate());
+        putDateTime(buffer, task.getCreatedAt());
+    }
+
+    private static void putDateTime(ByteBuffer buffer, LocalDateTime value) {
+        buffer.putLong(value == null ? NO_DATE : value.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(value == null ? 0 : value.getNano());
+    }
+
+    private static LocalDateTime getDateTime(ByteBuffer slot, int offset) {
+        long seconds = slot.getLong(offset);
+        return seconds == NO_DATE ? null : LocalDateTime.ofEpochSecond(seconds, slot.getInt(offset + 8), ZoneOffset.UTC);
+    }
+
+    /**
+     * Appends a string to the heap and writes its reference into the slot
+     */
+    private void putString(ByteBuffer slot, String value) throws IOException {
+        if (value == null) {
+            slot.putLong(0);
+            slot.putInt(-1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        long offset = heap.size();
+        writeFully(heap, ByteBuffer.wrap(bytes), offset);
+        slot.putLong(offset);
+        slot.putInt(bytes.length);
+    }
+
+    /**
+     * Reads the string referenced by the given string column of a slot
+     */
+    private String readString(ByteBuffer slot, int column) throws IOException {
+        int base = STRINGS_OFFSET + column * 12;
+        int length = slot.getInt(base + 8);
+        if (length < 0) {
+            return null;
+        }
+
+        ByteBuffer bytes = ByteBuffer.allocate(length);
+        long offset = slot.getLong(base);
+        while (bytes.hasRemaining()) {
+            if (heap.read(bytes, offset + bytes.position()) < 0) {
+                throw new EOFException("Truncated string at " + offset + " in " + heapFile);
+            }
+        }
+        return new String(bytes.array(), StandardCharsets.UTF_8);
+    }
+
+    private boolean sameString(ByteBuffer slot, int column, String value) throws IOException {
+        return Objects.equals(readString(slot, column), value);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Forces newly appended strings before a slot refers to them, unless the
+     * durability mode leaves flushing to the OS
+     */
+    private void forceHeap() throws IOException {
+        if (DURABILITY != DurabilityMode.ASYNC) {
+            heap.force(false);
+        }
+    }
+
+    /**
+     * Forces the files as the durability mode requires after a mutation
+     * @param count The number of tasks the mutation wrote
+     * @return A future completed once the mutation is durable
+     */
+    private CompletableFuture<Void> forceByMode(int count) throws IOException {
+        if (DURABILITY == DurabilityMode.STRICT) {
+            force();
+        } else if (DURABILITY == DurabilityMode.GROUPED) {
+            // The first write of a group bounds how long the group waits
+            if (group == null) {
+                group = new CompletableFuture<>();
+                FORCER.schedule(this::forcePending, GroupCommitWriter.GROUP_FORCE_NANOS, TimeUnit.NANOSECONDS);
+            }
+            CompletableFuture<Void> covering = group;
+            unforced += count;
+            if (unforced >= GroupCommitWriter.GROUP_FORCE_RECORDS) {
+                force();
+            }
+            return covering;
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Time trigger: forces a group that has waited a full interval
+     */
+    private synchronized void forcePending() {
+        if (group == null) {
+            return;
+        }
+
+        try {
+            force();
+        } catch (IOException e) {
+            System.err.println("Error forcing task records: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Forces both files, completing the pending group
+     */
+    private void force() throws IOException {
+        CompletableFuture<Void> forced = group;
+        group = null;
+        unforced = 0;
+        try {
+            heap.force(false);
+            records.force(false);
+        } catch (IOException e) {
+            if (forced != null) {
+                forced.completeExceptionally(e);
+            }
+            throw e;
+        }
+        if (forced != null) {
+            forced.complete(null);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+// utils/GroupCommitWriter.java
+package utils;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Appends records to a file through a single open channel, coalescing
+ * concurrent appends into one write per batch. A batch closes when it reaches
+ * {@code maxBatchRecords} or {@code maxLatencyMillis} after its first record,
+ * whichever comes first. Each append returns a future that completes once the
+ * record is as durable as the {@link DurabilityMode} requires.
+ */
+public class GroupCommitWriter implements Closeable {
+    // Shared with the other stores that group their forces
+    static final int GROUP_FORCE_RECORDS = Integer.getInteger("todo.durability.groupRecords", 256);
+    static final long GROUP_FORCE_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(Integer.getInteger("todo.durability.groupMillis", 20));
+
+    /**
+     * A record waiting to be written
+     */
+    private static class PendingRecord {
+        final byte[] bytes;
+        final long queuedAt = System.nanoTime();
+        final CompletableFuture<Void> written = new CompletableFuture<>();
+
+        PendingRecord(byte[] bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    private static final PendingRecord CLOSE = new PendingRecord(new byte[0]);
+
+    private final FileChannel channel;
+    private final DurabilityMode mode;
+    private final int maxBatchRecords;
+    private final long maxLatencyNanos;
+    private final WriteMetrics metrics;
+    private final BlockingQueue<PendingRecord> queue = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+    private boolean closed;
+
+    // Written but not yet forced, in GROUPED mode
+    private final List<PendingRecord> unforced = new ArrayList<>();
+    private long lastForce = System.nanoTime();
+
+    public GroupCommitWriter(Path file, DurabilityMode mode, int maxBatchRecords, long maxLatencyMillis,
+                             WriteMetrics metrics) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        this.mode = mode;
+        this.maxBatchRecords = Math.max(1, maxBatchRecords);
+        this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxLatencyMillis));
+        this.metrics = metrics;
+
+        writerThread = new Thread(this::writeBatches, "group-commit-" + file.getFileName());
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queues a record for the next batch
+     * @return A future completed once the record is durable
+     */
+    public synchronized CompletableFuture<Void> append(byte[] record) {
+        PendingRecord pending = new PendingRecord(record);
+        if (closed) {
+            pending.written.completeExceptionally(new IOException("Writer is closed"));
+            return pending.written;
+        }
+        queue.add(pending);
+        return pending.written;
+    }
+
+    /**
+     * Blocks until an appended record is durable
+     */
+    public static void await(Future<Void> written) throws IOException {
+        try {
+            written.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a write");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Writes and forces every queued record, then closes the file
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(CLOSE);
+        }
+
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    /**
+     * Writer loop: collects a batch and writes it with a single call
+     */
+    private void writeBatches() {
+        List<PendingRecord> batch = new ArrayList<>(maxBatchRecords);
+        boolean closing = false;
+
+        while (!closing) {
+            try {
+                PendingRecord first = takeOrForce();
+                if (first == CLOSE) {
+                    closing = true;
+                } else {
+                    batch.add(first);
+
+                    long deadline = System.nanoTime() + maxLatencyNanos;
+                    while (batch.size() < maxBatchRecords) {
+                        PendingRecord next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        if (next == CLOSE) {
+                            closing = true;
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                }
+            } catch (InterruptedException e) {
+                closing = true;
+            }
+
+            commit(batch);
+            batch.clear();
+        }
+
+        // Nothing is left unacknowledged once the writer closes
+        forceUnforced();
+    }
+
+    /**
+     * Waits for the next record, forcing pending grouped writes when their deadline passes
+     */
+    private PendingRecord takeOrForce() throws InterruptedException {
+        while (!unforced.isEmpty()) {
+            long wait = lastForce + GROUP_FORCE_NANOS - System.nanoTime();
+            PendingRecord next = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : null;
+            if (next != null) {
+                return next;
+            }
+            forceUnforced();
+        }
+        return queue.take();
+    }
+
+    private void commit(List<PendingRecord> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (mode == DurabilityMode.STRICT) {
+                for (PendingRecord record : batch) {
+                    write(Collections.singletonList(record));
+                    force();
+                    acknowledge(record);
+                }
+                return;
+            }
+
+            write(batch);
+            if (mode == DurabilityMode.ASYNC) {
+                for (PendingRecord record : batch) {
+                    acknowledge(record);
+                }
+                return;
+            }
+
+            unforced.addAll(batch);
+            if (unforced.size() >= GROUP_FORCE_RECORDS || System.nanoTime() - lastForce >= GROUP_FORCE_NANOS) {
+                forceUnforced();
+            }
+        } catch (IOException e) {
+            for (PendingRecord record : batch) {
+                record.written.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void write(List<PendingRecord> records) throws IOException {
+        int size = 0;
+        for (PendingRecord record : records) {
+            size += record.bytes.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (PendingRecord record : records) {
+            buffer.put(record.bytes);
+        }
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void force() throws IOException {
+        channel.force(false);
+        lastForce = System.nanoTime();
+        metrics.recordForce();
+    }
+
+    /**
+     * Forces grouped writes and acknowledges every record they cover
+     */
+    private void forceUnforced() {
+        if (unforced.isEmpty()) {
+            return;
+        }
+
+        try {
+            force();
+            for (PendingRecord record : unforced) {
+                acknowledge(record);
+            }
+        } catch (IOException e) {
+            for (PendingRecord record : unforced) {
+                record.written.completeExceptionally(e);
+            }
+        }
+        unforced.clear();
+    }
+
+    private void acknowledge(PendingRecord record) {
+        metrics.recordWrite(System.nanoTime() - record.queuedAt);
+        record.written.complete(null);
+    }
+}
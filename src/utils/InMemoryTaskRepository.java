@@ -0,0 +1,61 @@
+// utils/InMemoryTaskRepository.java
+package utils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import model.*;
+
+/**
+ * Task storage that lives only in memory, for tests and benchmarks
+ */
+public class InMemoryTaskRepository implements TaskRepository {
+    private final Map<String, Map<Integer, Task>> tasksByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger lastTaskId = new AtomicInteger();
+
+    @Override
+    public List<Task> loadUserTasks(String userId) {
+        Map<Integer, Task> tasks = tasksByUser.get(userId);
+        if (tasks == null) {
+            return new ArrayList<>();
+        }
+        synchronized (tasks) {
+            return new ArrayList<>(tasks.values());
+        }
+    }
+
+    @Override
+    public void create(Task task) {
+        Map<Integer, Task> tasks = tasksByUser.computeIfAbsent(task.getUserId(), id -> new LinkedHashMap<>());
+        synchronized (tasks) {
+            tasks.put(task.getTaskId(), task);
+        }
+    }
+
+    @Override
+    public void createAll(List<Task> tasks) {
+        for (Task task : tasks) {
+            create(task);
+        }
+    }
+
+    @Override
+    public void update(Task task) {
+        create(task);
+    }
+
+    @Override
+    public void delete(Task task) {
+        Map<Integer, Task> tasks = tasksByUser.get(task.getUserId());
+        if (tasks != null) {
+            synchronized (tasks) {
+                tasks.remove(task.getTaskId());
+            }
+        }
+    }
+
+    @Override
+    public int nextTaskId() {
+        return lastTaskId.incrementAndGet();
+    }
+}
@@ -0,0 +1,37 @@
+// utils/InMemoryUserRepository.java
+package utils;
+
+import java.util.*;
+import model.*;
+
+/**
+ * User storage that lives only in memory, for tests and benchmarks
+ */
+public class InMemoryUserRepository implements UserRepository {
+    private final Map<String, User> usersByName = new LinkedHashMap<>();
+
+    @Override
+    public synchronized List<User> loadUsers() {
+        return new ArrayList<>(usersByName.values());
+    }
+
+    @Override
+    public synchronized User findByUsername(String username) {
+        return usersByName.get(username);
+    }
+
+    @Override
+    public synchronized void save(User user) {
+        usersByName.put(user.getUsername(), user);
+    }
+
+    @Override
+    public synchronized boolean saveIfAbsent(User user) {
+        return usersByName.putIfAbsent(user.getUsername(), user) == null;
+    }
+
+    @Override
+    public synchronized void update(User user) {
+        usersByName.replace(user.getUsername(), user);
+    }
+}
@@ -0,0 +1,94 @@
+// utils/LazyTask.java
+package utils;
+
+import java.time.LocalDateTime;
+import model.*;
+
+/**
+ * Task loaded from a tasks file whose description and date columns are kept
+ * as raw CSV and decoded on first access. Most rows shown in a list are never
+ * opened, so this skips the bulk of the string and date parsing on load.
+ */
+class LazyTask extends Task {
+    private static final long serialVersionUID = 1L;
+
+    private static final int DESCRIPTION = 3;
+    private static final int DUE_DATE = 4;
+    private static final int CREATED_AT = 6;
+
+    private transient CSVRecord record;
+    private final int offset;
+    private boolean descriptionDecoded;
+    private boolean dueDateDecoded;
+    private LocalDateTime createdAt;
+
+    /**
+     * Creates a task from a detached record whose task columns start at {@code offset}
+     */
+    LazyTask(int taskId, String userId, String title, TaskStatus status, PriorityLevel priority,
+             CSVRecord record, int offset) {
+        super(taskId, userId, title, null, null, status, null, priority);
+        this.record = record;
+        this.offset = offset;
+    }
+
+    @Override
+    public synchronized String getDescription() {
+        if (!descriptionDecoded) {
+            initDescription(record.get(offset + DESCRIPTION));
+            descriptionDecoded = true;
+            releaseRecord();
+        }
+        return super.getDescription();
+    }
+
+    @Override
+    public synchronized void setDescription(String description) {
+        descriptionDecoded = true;
+        super.setDescription(description);
+        releaseRecord();
+    }
+
+    @Override
+    public synchronized LocalDateTime getDueDate() {
+        if (!dueDateDecoded) {
+            initDueDate(CSVFileManager.parseDateTime(record.get(offset + DUE_DATE)));
+            dueDateDecoded = true;
+            releaseRecord();
+        }
+        return super.getDueDate();
+    }
+
+    @Override
+    public synchronized void setDueDate(LocalDateTime dueDate) {
+        dueDateDecoded = true;
+        super.setDueDate(dueDate);
+        releaseRecord();
+    }
+
+    @Override
+    public synchronized LocalDateTime getCreatedAt() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.parse(record.get(offset + CREATED_AT));
+            releaseRecord();
+        }
+        return createdAt;
+    }
+
+    /**
+     * Serializes as a plain task with every lazy column decoded, as the raw record is not serialized
+     */
+    private Object writeReplace() {
+        return new Task(getTaskId(), getUserId(), getTitle(), getDescription(), getDueDate(), getStatus(),
+                getCreatedAt(), getPriority());
+    }
+
+    /**
+     * Drops the raw record once every lazy column has been decoded
+     */
+    private void releaseRecord() {
+        if (descriptionDecoded && dueDateDecoded && createdAt != null) {
+            record = null;
+        }
+    }
+}
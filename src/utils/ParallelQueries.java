@@ -0,0 +1,177 @@
+// utils/ParallelQueries.java
+package utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import model.*;
+
+/**
+ * Decides when a task query is large enough to filter and sort in parallel,
+ * and runs parallel queries on a dedicated fork-join pool, so they never
+ * compete with other users of the common pool.
+ * <p>
+ * The threshold is calibrated once by timing a typical query, filtering by
+ * status and ordering by due date, both ways over growing synthetic task
+ * sets; it is the smallest size from which the parallel run wins at every
+ * larger measured size. Where it never wins, such as on a single processor,
+ * queries always run sequentially, as they do until calibration finishes.
+ * {@code todo.query.parallelThreshold} pins the threshold instead.
+ * <p>
+ * The calibrated threshold is saved to {@code query.pref} with the thread
+ * count it was measured for, so later launches reuse it instead of timing
+ * queries again while the user logs in.
+ */
+public class ParallelQueries {
+    private static final int MIN_SIZE = 1 << 12;
+    private static final int MAX_CALIBRATION_SIZE = 1 << 18;
+    private static final int THREADS = Integer.getInteger("todo.query.threads",
+            Runtime.getRuntime().availableProcessors());
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(THREADS, pool -> {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("query-worker-" + thread.getPoolIndex());
+        thread.setDaemon(true);
+        return thread;
+    }, null, false);
+
+    private static final Integer PINNED = Integer.getInteger("todo.query.parallelThreshold");
+    private static final Path SAVED_FILE = Paths.get("query.pref");
+    private static final Integer SAVED = PINNED != null ? null : loadSaved();
+    private static final int WARMUP_RUNS = 5;
+
+    // Stays sequential until calibration finishes, so no caller waits for it
+    private static volatile int threshold = PINNED != null ? Math.max(1, PINNED)
+            : SAVED != null ? SAVED : Integer.MAX_VALUE;
+    private static boolean calibrated = PINNED != null || SAVED != null;
+
+    /**
+     * Gets the number of candidate tasks from which queries run in parallel,
+     * or {@link Integer#MAX_VALUE} while they always run sequentially
+     */
+    public static int threshold() {
+        return threshold;
+    }
+
+    /**
+     * Returns whether a query over this many candidates should run in parallel
+     */
+    public static boolean isWorthIt(int candidates) {
+        return candidates >= MIN_SIZE && candidates >= threshold;
+    }
+
+    /**
+     * Runs parallel stream work inside the query pool
+     */
+    public static <T> T invoke(Supplier<T> work) {
+        return POOL.invoke(ForkJoinTask.adapt(work::get));
+    }
+
+    /**
+     * Times queries both ways and sets and saves the threshold, unless it is
+     * pinned, saved by an earlier launch or already calibrated; takes a few
+     * seconds, so call it off the EDT
+     */
+    public static synchronized void calibrate() {
+        if (calibrated) {
+            return;
+        }
+        threshold = measure();
+        calibrated = true;
+        save(threshold);
+    }
+
+    /**
+     * Summarizes the query pool, e.g. for logging on exit
+     */
+    public static String describe() {
+        int current = threshold;
+        String source;
+        synchronized (ParallelQueries.class) {
+            source = PINNED != null ? "pinned" : SAVED != null ? "saved" : calibrated ? "calibrated" : "not calibrated";
+        }
+        return String.format("parallel queries: threshold %s (%s), %d threads",
+                current == Integer.MAX_VALUE ? "never" : current + " tasks", source, THREADS);
+    }
+
+    /**
+     * Reads the threshold saved by an earlier launch
+     * @return The threshold, or null if none was saved for this thread count
+     */
+    private static Integer loadSaved() {
+        try {
+            String[] fields = new String(Files.readAllBytes(SAVED_FILE), StandardCharsets.US_ASCII)
+                    .trim().split(" ");
+            if (fields.length == 2 && Integer.parseInt(fields[1]) == THREADS) {
+                return Math.max(1, Integer.parseInt(fields[0]));
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Calibrated again
+        }
+        return null;
+    }
+
+    private static void save(int value) {
+        try {
+            Files.write(SAVED_FILE, (value + " " + THREADS).getBytes(StandardCharsets.US_ASCII));
+        } catch (IOException e) {
+            System.err.println("Error saving the parallel query threshold: " + e.getMessage());
+        }
+    }
+
+    private static int measure() {
+        if (THREADS < 2) {
+            return Integer.MAX_VALUE;
+        }
+
+        List<Task> tasks = syntheticTasks(MAX_CALIBRATION_SIZE);
+        TaskQuery query = new TaskQuery().status(TaskStatus.INCOMPLETE).orderBy(TaskQuery.SortKey.DUE_DATE, false);
+
+        // Compile both paths before timing either, so neither pays for the JIT
+        List<Task> warmup = tasks.subList(0, MIN_SIZE);
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            query.runSequential(warmup);
+            query.runParallel(warmup);
+        }
+
+        int best = Integer.MAX_VALUE;
+        for (int size = MIN_SIZE; size <= MAX_CALIBRATION_SIZE; size <<= 1) {
+            List<Task> candidates = tasks.subList(0, size);
+            long sequential = bestOf(() -> query.runSequential(candidates));
+            long parallel = bestOf(() -> query.runParallel(candidates));
+            if (parallel < sequential) {
+                best = Math.min(best, size);
+            } else {
+                best = Integer.MAX_VALUE;
+            }
+        }
+        return best;
+    }
+
+    private static long bestOf(Runnable run) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            run.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static List<Task> syntheticTasks(int count) {
+        Random random = new Random(1);
+        LocalDateTime now = LocalDateTime.now();
+        PriorityLevel[] priorities = PriorityLevel.values();
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            tasks.add(new Task(i, "calibration", "Task " + i, "", now.plusMinutes(random.nextInt(1_000_000)),
+                    random.nextBoolean() ? TaskStatus.INCOMPLETE : TaskStatus.COMPLETE, now,
+                    priorities[random.nextInt(priorities.length)]));
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,186 @@
+// utils/PasswordHasher.java
+package utils;
+
+import java.io.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.mindrot.jbcrypt.BCrypt;
+
+/**
+ * Hashes and verifies passwords with bcrypt on a dedicated, bounded pool of
+ * worker threads, so a burst of logins cannot starve the rest of the
+ * application. Work beyond the queue capacity is rejected instead of queued.
+ * <p>
+ * The bcrypt cost is calibrated once by timing a hash on this machine, picking
+ * the highest cost that stays within {@code todo.bcrypt.targetMillis} (default
+ * 250), and never less than bcrypt's default of 10. {@code todo.bcrypt.cost}
+ * pins the cost instead. Hashes made with a lower cost are reported by
+ * {@link #needsRehash} so they can be upgraded on the next login.
+ */
+public class PasswordHasher {
+    private static final int MIN_COST = 10;
+    private static final int MAX_COST = 16;
+    private static final long TARGET_MILLIS = Long.getLong("todo.bcrypt.targetMillis", 250);
+    private static final int QUEUE_CAPACITY = Integer.getInteger("todo.bcrypt.queue", 64);
+    private static final int THREADS = Integer.getInteger("todo.bcrypt.threads",
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+
+    private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(THREADS, THREADS,
+            0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUE_CAPACITY), task -> {
+                Thread thread = new Thread(task, "bcrypt-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private static final AtomicInteger MAX_QUEUE_DEPTH = new AtomicInteger();
+    private static final AtomicLong REJECTED = new AtomicLong();
+
+    private static int cost;
+    private static long calibrationMillis = -1;
+    private static String dummyHash;
+
+    /**
+     * Gets the bcrypt cost for new hashes, calibrating it on first use
+     */
+    public static synchronized int cost() {
+        if (cost == 0) {
+            Integer pinned = Integer.getInteger("todo.bcrypt.cost");
+            cost = pinned != null ? pinned : calibrate();
+            dummyHash = BCrypt.hashpw("unknown user", BCrypt.gensalt(cost));
+        }
+        return cost;
+    }
+
+    /**
+     * Times one hash at the minimum cost; each extra cost step doubles the work
+     */
+    private static int calibrate() {
+        long start = System.nanoTime();
+        BCrypt.hashpw("calibration", BCrypt.gensalt(MIN_COST));
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        calibrationMillis = millis;
+
+        int steps = 0;
+        while (MIN_COST + steps < MAX_COST && millis << (steps + 1) <= TARGET_MILLIS) {
+            steps++;
+        }
+        return MIN_COST + steps;
+    }
+
+    /**
+     * Hashes a password at the calibrated cost
+     */
+    public static String hash(String password) throws IOException {
+        return await(submit(() -> BCrypt.hashpw(password, BCrypt.gensalt(cost()))));
+    }
+
+    /**
+     * Starts checking a password against a stored hash on the worker pool
+     */
+    public static CompletableFuture<Boolean> verifyAsync(String password, String hashedPassword) throws IOException {
+        return submit(() -> BCrypt.checkpw(password, hashedPassword));
+    }
+
+    /**
+     * Does the work of checking a password for a user that does not exist,
+     * so a failed login takes as long whether or not the username is taken
+     * @return Always false
+     */
+    public static boolean verifyUnknownUser(String password) throws IOException {
+        String hash;
+        synchronized (PasswordHasher.class) {
+            cost();
+            hash = dummyHash;
+        }
+        verify(password, hash);
+        return false;
+    }
+
+    /**
+     * Checks a password against a stored hash
+     */
+    public static boolean verify(String password, String hashedPassword) throws IOException {
+        return await(verifyAsync(password, hashedPassword));
+    }
+
+    /**
+     * Returns whether a hash was made with a lower cost than the calibrated one
+     */
+    public static boolean needsRehash(String hashedPassword) {
+        // Hashes look like $2a$10$..., with the cost in the third field
+        String[] fields = hashedPassword.split("\\$");
+        try {
+            return fields.length > 2 && Integer.parseInt(fields[2]) < cost();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static <T> CompletableFuture<T> submit(Callable<T> work) throws IOException {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            EXECUTOR.execute(() -> {
+                try {
+                    result.complete(work.call());
+                } catch (Exception e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            REJECTED.incrementAndGet();
+            throw new IOException("Too many password checks in progress, try again");
+        }
+
+        MAX_QUEUE_DEPTH.accumulateAndGet(EXECUTOR.getQueue().size(), Math::max);
+        return result;
+    }
+
+    /**
+     * Waits for a hashing or verification result
+     */
+    public static <T> T await(Future<T> result) throws IOException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while hashing a password");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Returns the number of hashing requests waiting for a worker
+     */
+    public static int getQueueDepth() {
+        return EXECUTOR.getQueue().size();
+    }
+
+    public static int getMaxQueueDepth() {
+        return MAX_QUEUE_DEPTH.get();
+    }
+
+    public static long getCompletedCount() {
+        return EXECUTOR.getCompletedTaskCount();
+    }
+
+    public static long getRejectedCount() {
+        return REJECTED.get();
+    }
+
+    /**
+     * Summarizes the hashing pool, e.g. for logging on exit
+     */
+    public static String describe() {
+        int cost = cost();
+        String calibration;
+        synchronized (PasswordHasher.class) {
+            calibration = calibrationMillis < 0 ? "pinned"
+                    : "calibrated from " + calibrationMillis + " ms at cost " + MIN_COST;
+        }
+        return String.format("bcrypt: cost %d (%s), %d threads, %d completed, %d rejected, queue depth %d (max %d of %d)",
+                cost, calibration, THREADS, getCompletedCount(), getRejectedCount(), getQueueDepth(),
+                getMaxQueueDepth(), QUEUE_CAPACITY);
+    }
+}
@@ -0,0 +1,85 @@
+// utils/SnapshotWriter.java
+package utils;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+/**
+ * Replaces a file without ever exposing a partial copy. The new contents are
+ * written to a temporary file beside the target, forced to disk, and renamed
+ * over the target in one atomic move; the directory entry is then forced so
+ * the rename itself survives a crash.
+ */
+public class SnapshotWriter {
+    /**
+     * Writes the contents of a snapshot
+     */
+    @FunctionalInterface
+    public interface Content {
+        void writeTo(BufferedWriter writer) throws IOException;
+    }
+
+    /**
+     * Atomically replaces the target file with the given contents
+     */
+    public static void write(Path target, Content content) throws IOException {
+        replace(target, channel -> {
+            BufferedWriter writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+            content.writeTo(writer);
+            writer.flush();
+        });
+    }
+
+    /**
+     * Atomically replaces the target file with the given bytes
+     */
+    public static void write(Path target, byte[] contents) throws IOException {
+        replace(target, channel -> {
+            ByteBuffer buffer = ByteBuffer.wrap(contents);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        });
+    }
+
+    private interface ChannelContent {
+        void writeTo(FileChannel channel) throws IOException;
+    }
+
+    private static void replace(Path target, ChannelContent content) throws IOException {
+        Path tempFile = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            content.writeTo(channel);
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            // The target is untouched; drop the partial copy
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+
+        Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(target.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Forces a directory's entries to disk. Not every platform can open a
+     * directory as a channel, so a failure here is ignored.
+     */
+    private static void forceDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Best effort only
+        }
+    }
+}
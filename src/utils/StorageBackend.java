@@ -0,0 +1,79 @@
+// utils/StorageBackend.java
+package utils;
+
+import java.nio.file.Paths;
+import model.*;
+
+/**
+ * Storage backends selectable at startup with the {@code todo.storage} system
+ * property, e.g. {@code -Dtodo.storage=binary}. Defaults to CSV. The FIXED
+ * backend keeps fixed-width records that are updated in place.
+ */
+public enum StorageBackend {
+    CSV,
+    MEMORY,
+    BINARY,
+    FIXED;
+
+    private static final String PROPERTY = "todo.storage";
+
+    /**
+     * Gets the backend named by the {@code todo.storage} system property
+     */
+    public static StorageBackend fromSystemProperty() {
+        String name = System.getProperty(PROPERTY, CSV.name());
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown storage backend '" + name + "', using CSV");
+            return CSV;
+        }
+    }
+
+    private TaskRepository taskRepository;
+    private UserRepository userRepository;
+    private SessionCache sessionCache;
+
+    /**
+     * Gets the task repository for this backend, shared by every caller
+     */
+    public synchronized TaskRepository getTaskRepository() {
+        if (taskRepository == null) {
+            switch (this) {
+                case MEMORY:
+                    taskRepository = new InMemoryTaskRepository();
+                    break;
+                case BINARY:
+                    taskRepository = new BinaryLogTaskRepository(Paths.get("tasks.bin"), Paths.get("tasks-bin.seq"));
+                    break;
+                case FIXED:
+                    taskRepository = new FixedRecordTaskRepository(Paths.get("tasks.rec"), Paths.get("tasks.heap"),
+                            Paths.get("tasks-rec.seq"));
+                    break;
+                default:
+                    taskRepository = new CSVTaskRepository();
+            }
+        }
+        return taskRepository;
+    }
+
+    /**
+     * Gets the user repository for this backend, shared by every caller
+     */
+    public synchronized UserRepository getUserRepository() {
+        if (userRepository == null) {
+            userRepository = this == MEMORY ? new InMemoryUserRepository() : new CSVUserRepository();
+        }
+        return userRepository;
+    }
+
+    /**
+     * Gets the session cache for this backend, shared by every caller
+     */
+    public synchronized SessionCache getSessionCache() {
+        if (sessionCache == null) {
+            sessionCache = SessionCache.fromSystemProperties();
+        }
+        return sessionCache;
+    }
+}
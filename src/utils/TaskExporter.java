@@ -0,0 +1,277 @@
+// utils/TaskExporter.java
+package utils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.GZIPOutputStream;
+import model.Task;
+
+/**
+ * Streams tasks to an export file in CSV, JSON Lines or a compact binary
+ * format, optionally gzip-compressed. Tasks are taken from the source in
+ * chunks that are formatted in parallel on the common fork-join pool, then
+ * written in their original order; at most {@code MAX_CHUNKS_IN_FLIGHT}
+ * formatted chunks are held in memory at once.
+ */
+public class TaskExporter {
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_CHUNKS_IN_FLIGHT = 2 * Runtime.getRuntime().availableProcessors();
+    private static final int BINARY_MAGIC = 0x54444558; // "TDEX"
+    private static final int BINARY_VERSION = 2;
+
+    /**
+     * Output format of an export
+     */
+    public enum Format {
+        CSV(".csv"),
+        JSON_LINES(".jsonl"),
+        BINARY(".tdex");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Picks the format matching a file name's extension, defaulting to CSV
+         */
+        public static Format forFilename(String filename) {
+            String name = filename.toLowerCase();
+            if (name.endsWith(".gz")) {
+                name = name.substring(0, name.length() - ".gz".length());
+            }
+
+            for (Format format : values()) {
+                if (name.endsWith(format.extension)) {
+                    return format;
+                }
+            }
+            return CSV;
+        }
+    }
+
+    private final Format format;
+    private final boolean compress;
+    private final boolean includeDescription;
+    private final boolean includeDueDate;
+    private final boolean includePriority;
+
+    public TaskExporter(Format format, boolean compress, boolean includeDescription,
+                        boolean includeDueDate, boolean includePriority) {
+        this.format = format;
+        this.compress = compress;
+        this.includeDescription = includeDescription;
+        this.includeDueDate = includeDueDate;
+        this.includePriority = includePriority;
+    }
+
+    /**
+     * Writes every task from the source to the file
+     * @return The number of tasks exported
+     */
+    public long export(Iterator<Task> source, Path file) throws IOException {
+        long count = 0;
+        Deque<Future<byte[]>> inFlight = new ArrayDeque<>();
+
+        try (OutputStream out = openOutput(file)) {
+            out.write(header());
+
+            while (source.hasNext()) {
+                List<Task> chunk = new ArrayList<>(CHUNK_SIZE);
+                while (source.hasNext() && chunk.size() < CHUNK_SIZE) {
+                    chunk.add(source.next());
+                }
+                count += chunk.size();
+
+                if (inFlight.size() == MAX_CHUNKS_IN_FLIGHT) {
+                    out.write(await(inFlight.removeFirst()));
+                }
+                // The default async executor falls back to a thread per task when the
+                // common pool has no workers, as on a single-CPU machine
+                inFlight.addLast(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return formatChunk(chunk);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            }
+
+            while (!inFlight.isEmpty()) {
+                out.write(await(inFlight.removeFirst()));
+            }
+        } finally {
+            for (Future<byte[]> pending : inFlight) {
+                pending.cancel(true);
+            }
+        }
+
+        return count;
+    }
+
+    private OutputStream openOutput(Path file) throws IOException {
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024);
+        return compress ? new GZIPOutputStream(out, 64 * 1024) : out;
+    }
+
+    private static byte[] await(Future<byte[]> chunk) throws IOException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Export interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Formats the bytes written once before the first task
+     */
+    private byte[] header() throws IOException {
+        switch (format) {
+            case CSV:
+                // Build header based on selected fields
+                StringBuilder header = new StringBuilder("Title");
+                if (includeDescription) header.append(",Description");
+                if (includeDueDate) header.append(",Due Date");
+                if (includePriority) header.append(",Priority");
+                return header.append(System.lineSeparator()).toString().getBytes(StandardCharsets.UTF_8);
+            case BINARY:
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(bytes);
+                out.writeInt(BINARY_MAGIC);
+                out.writeByte(BINARY_VERSION);
+                out.writeBoolean(includeDescription);
+                out.writeBoolean(includeDueDate);
+                out.writeBoolean(includePriority);
+                return bytes.toByteArray();
+            default:
+                return new byte[0];
+        }
+    }
+
+    /**
+     * Formats one chunk of tasks
+     */
+    private byte[] formatChunk(List<Task> chunk) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(chunk.size() * 96);
+
+        if (format == Format.BINARY) {
+            DataOutputStream out = new DataOutputStream(bytes);
+            for (Task task : chunk) {
+                writeBinary(task, out);
+            }
+            return bytes.toByteArray();
+        }
+
+        StringBuilder text = new StringBuilder(chunk.size() * 96);
+        for (Task task : chunk) {
+            if (format == Format.JSON_LINES) {
+                appendJson(task, text);
+            } else {
+                appendCsv(task, text);
+            }
+            text.append(System.lineSeparator());
+        }
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void appendCsv(Task task, StringBuilder line) {
+        // Build each task line based on selected fields
+        line.append(CSVRecord.escape(task.getTitle()));
+        if (includeDescription) line.append(",").append(CSVRecord.escape(task.getDescription()));
+        if (includeDueDate) line.append(",").append(task.getDueDate());
+        if (includePriority) line.append(",").append(task.getPriority());
+    }
+
+    private void appendJson(Task task, StringBuilder line) {
+        line.append("{\"title\":");
+        appendJsonString(task.getTitle(), line);
+        if (includeDescription) {
+            line.append(",\"description\":");
+            appendJsonString(task.getDescription(), line);
+        }
+        if (includeDueDate) {
+            line.append(",\"dueDate\":");
+            appendJsonString(task.getDueDate() != null ? task.getDueDate().toString() : null, line);
+        }
+        if (includePriority) {
+            line.append(",\"priority\":");
+            appendJsonString(task.getPriority() != null ? task.getPriority().name() : null, line);
+        }
+        line.append('}');
+    }
+
+    private static void appendJsonString(String value, StringBuilder line) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': line.append("\\\""); break;
+                case '\\': line.append("\\\\"); break;
+                case '\n': line.append("\\n"); break;
+                case '\r': line.append("\\r"); break;
+                case '\t': line.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+            }
+        }
+        line.append('"');
+    }
+
+    /**
+     * Writes a task as length-prefixed UTF-8 strings (length -1 when missing),
+     * a due date as a presence flag followed by epoch second and nanos, and a
+     * priority ordinal (or -1 when missing)
+     */
+    private void writeBinary(Task task, DataOutputStream out) throws IOException {
+        writeBinaryString(task.getTitle(), out);
+        if (includeDescription) {
+            writeBinaryString(task.getDescription(), out);
+        }
+        if (includeDueDate) {
+            LocalDateTime dueDate = task.getDueDate();
+            out.writeBoolean(dueDate != null);
+            if (dueDate != null) {
+                out.writeLong(dueDate.toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(dueDate.getNano());
+            }
+        }
+        if (includePriority) {
+            out.writeByte(task.getPriority() != null ? task.getPriority().ordinal() : -1);
+        }
+    }
+
+    private static void writeBinaryString(String value, DataOutputStream out) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
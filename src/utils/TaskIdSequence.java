@@ -0,0 +1,137 @@
+// utils/TaskIdSequence.java
+package utils;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.zip.CRC32;
+
+/**
+ * Durable, monotonic task ID allocator. The sequence file holds the next ID
+ * that has not been leased yet; each process leases a block of IDs under an
+ * exclusive file lock and then hands them out from memory. IDs are unique
+ * across processes, and IDs left in a block when a process exits or crashes
+ * are skipped rather than reused.
+ * <p>
+ * The file holds two fixed-width slots, each the end of a lease and its
+ * checksum, and a lease overwrites the older slot in place. A crash mid-write
+ * tears at most that slot, so the other one still holds the end of the
+ * previous lease, and no ID handed out before the crash is leased again.
+ */
+public class TaskIdSequence {
+    private static final int BLOCK_SIZE = 64;
+    private static final int SLOT_SIZE = 20;
+
+    /**
+     * Supplies the highest ID already in use when the sequence file is first created
+     */
+    @FunctionalInterface
+    public interface Seed {
+        int highestId() throws IOException;
+    }
+
+    private final Path file;
+    private final Seed seed;
+    private int nextId;
+    private int blockEnd;
+
+    public TaskIdSequence(Path file, Seed seed) {
+        this.file = file;
+        this.seed = seed;
+    }
+
+    /**
+     * Allocates the next task ID
+     */
+    public synchronized int next() throws IOException {
+        if (nextId == blockEnd) {
+            leaseBlock();
+        }
+        return nextId++;
+    }
+
+    /**
+     * Reserves the next block of IDs in the sequence file
+     */
+    private void leaseBlock() throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            FileLock lock = channel.lock();
+            try {
+                ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+                channel.read(buffer, 0);
+                String content = new String(buffer.array(), StandardCharsets.US_ASCII);
+
+                int first = readSlot(content, 0);
+                int second = readSlot(content, 1);
+                int start;
+                int target;
+                if (first >= 0 || second >= 0) {
+                    start = Math.max(first, second);
+                    target = first >= second ? 1 : 0;
+                } else {
+                    start = readUnslotted(content);
+                    // The second slot lies past a value written by older versions
+                    target = 1;
+                }
+                int end = start + BLOCK_SIZE;
+
+                // Persist the end of the lease before handing out any of its IDs
+                channel.write(ByteBuffer.wrap(formatSlot(end)), (long) target * SLOT_SIZE);
+                channel.force(true);
+
+                nextId = start;
+                blockEnd = end;
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    /**
+     * Reads the file when neither slot is intact: a new file, one whose first
+     * lease was torn, or a bare number written by older versions, which only
+     * ever occupies the first slot's bytes
+     */
+    private int readUnslotted(String content) throws IOException {
+        String value = content.substring(0, Math.min(content.length(), SLOT_SIZE)).replace('\0', ' ').trim();
+        if (value.isEmpty()) {
+            return seed.highestId() + 1;
+        }
+        if (!value.matches("\\d{1,10}")) {
+            throw new IOException("Corrupt task ID sequence file " + file);
+        }
+        return Integer.parseInt(value);
+    }
+
+    /**
+     * Gets the lease end stored in a slot
+     * @return The value, or -1 if the slot is missing or torn
+     */
+    private static int readSlot(String content, int slot) {
+        int start = slot * SLOT_SIZE;
+        if (content.length() < start + SLOT_SIZE) {
+            return -1;
+        }
+        String text = content.substring(start, start + SLOT_SIZE);
+        if (!text.matches("\\d{10},[0-9a-f]{8}\n") || !text.substring(11, 19).equals(checksum(text.substring(0, 10)))) {
+            return -1;
+        }
+        long value = Long.parseLong(text.substring(0, 10));
+        return value <= Integer.MAX_VALUE ? (int) value : -1;
+    }
+
+    private static byte[] formatSlot(int value) {
+        String digits = String.format("%010d", value);
+        return (digits + "," + checksum(digits) + "\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static String checksum(String digits) {
+        CRC32 crc = new CRC32();
+        crc.update(digits.getBytes(StandardCharsets.US_ASCII));
+        return String.format("%08x", crc.getValue());
+    }
+}
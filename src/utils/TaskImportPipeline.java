@@ -0,0 +1,272 @@
+// utils/TaskImportPipeline.java
+package utils;
+
+import java.io.*;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import model.*;
+
+/**
+ * Streaming import of a task CSV file in stages:
+ * read -> parse -> validate -> dedupe -> persist.
+ * <p>
+ * A reader thread cuts the file into batches of raw records, which are parsed
+ * in parallel on the common fork-join pool. The parsed batches pass through a
+ * bounded queue, in file order, to the calling thread. That thread validates,
+ * dedupes and hands accepted tasks to the sink one batch at a time. At most
+ * {@code MAX_BATCHES_IN_FLIGHT} batches are held in memory at once, apart from
+ * one 64-bit fingerprint per accepted row kept for deduplication.
+ */
+public class TaskImportPipeline {
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_BATCHES_IN_FLIGHT = 2 * Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Allocates IDs for accepted tasks
+     */
+    @FunctionalInterface
+    public interface IdSource {
+        int nextTaskId() throws IOException;
+    }
+
+    /**
+     * Receives accepted tasks, one batch at a time
+     */
+    @FunctionalInterface
+    public interface BatchSink {
+        void persist(List<Task> batch) throws IOException;
+    }
+
+    /**
+     * Receives progress, per-row errors and skipped duplicates while the import runs
+     */
+    public interface Listener {
+        void onProgress(long rowsRead, long rowsImported);
+
+        void onRowError(int lineNumber, String row, String message);
+
+        void onDuplicate(int lineNumber, String row);
+    }
+
+    /**
+     * Listener that logs row errors the way the importer always has
+     */
+    public static final Listener LOGGING_LISTENER = new Listener() {
+        @Override
+        public void onProgress(long rowsRead, long rowsImported) {
+        }
+
+        @Override
+        public void onRowError(int lineNumber, String row, String message) {
+            System.err.println("Error parsing imported task data at line " + lineNumber + ": " + row);
+            System.err.println("Error: " + message);
+        }
+
+        @Override
+        public void onDuplicate(int lineNumber, String row) {
+            System.err.println("Skipped duplicate imported task at line " + lineNumber + ": " + row);
+        }
+    };
+
+    /**
+     * An import row after the parse stage
+     */
+    private static class ParsedRow {
+        int lineNumber;
+        String row;
+        String title;
+        String description;
+        LocalDateTime dueDate;
+        PriorityLevel priority;
+        String error;
+    }
+
+    private static final List<ParsedRow> END_OF_FILE = new ArrayList<>();
+
+    private final String userId;
+    private final Set<Long> seenFingerprints = new HashSet<>();
+    private final IdSource idSource;
+    private final BatchSink sink;
+    private final Listener listener;
+
+    private long rowsRead;
+    private long rowsImported;
+
+    /**
+     * Creates a pipeline importing tasks for the given user.
+     * Rows matching one of the existing tasks are skipped as duplicates.
+     */
+    public TaskImportPipeline(String userId, Collection<Task> existingTasks, IdSource idSource,
+                              BatchSink sink, Listener listener) {
+        this.userId = userId;
+        this.idSource = idSource;
+        this.sink = sink;
+        this.listener = listener;
+
+        for (Task task : existingTasks) {
+            seenFingerprints.add(fingerprint(task.getTitle(), task.getDescription(), task.getDueDate()));
+        }
+    }
+
+    /**
+     * Runs the import to completion
+     * @return The number of tasks imported
+     */
+    public long run(Path file) throws IOException {
+        BlockingQueue<Future<List<ParsedRow>>> inFlight = new ArrayBlockingQueue<>(MAX_BATCHES_IN_FLIGHT);
+        IOException[] readError = new IOException[1];
+
+        Thread reader = new Thread(() -> readError[0] = read(file, inFlight), "task-import-reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        try {
+            while (true) {
+                List<ParsedRow> batch = inFlight.take().get();
+                if (batch == END_OF_FILE) {
+                    break;
+                }
+                persist(batch);
+            }
+            reader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            // Unblocks the reader if a later stage failed
+            reader.interrupt();
+        }
+
+        if (readError[0] != null) {
+            throw readError[0];
+        }
+        return rowsImported;
+    }
+
+    /**
+     * Read stage: cuts the file into batches and submits each one for parsing
+     * @return The error that stopped reading, or null
+     */
+    private static IOException read(Path file, BlockingQueue<Future<List<ParsedRow>>> inFlight) {
+        IOException error = null;
+
+        try {
+            List<CSVRecord> batch = new ArrayList<>(BATCH_SIZE);
+            List<Integer> lineNumbers = new ArrayList<>(BATCH_SIZE);
+
+            // Assume first line is header
+            CSVRecordReader.forEach(file, true, (lineNumber, record) -> {
+                batch.add(record.detach());
+                lineNumbers.add(lineNumber);
+                if (batch.size() == BATCH_SIZE) {
+                    submit(new ArrayList<>(batch), new ArrayList<>(lineNumbers), inFlight);
+                    batch.clear();
+                    lineNumbers.clear();
+                }
+            });
+
+            if (!batch.isEmpty()) {
+                submit(batch, lineNumbers, inFlight);
+            }
+        } catch (IOException e) {
+            error = e;
+        }
+
+        try {
+            inFlight.put(CompletableFuture.completedFuture(END_OF_FILE));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return error;
+    }
+
+    private static void submit(List<CSVRecord> records, List<Integer> lineNumbers,
+                               BlockingQueue<Future<List<ParsedRow>>> inFlight) throws IOException {
+        try {
+            // The default async executor falls back to a thread per task when the
+            // common pool has no workers, as on a single-CPU machine
+            inFlight.put(CompletableFuture.supplyAsync(() -> parse(records, lineNumbers)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted");
+        }
+    }
+
+    /**
+     * Parse stage: decodes the columns of each record in a batch
+     */
+    private static List<ParsedRow> parse(List<CSVRecord> records, List<Integer> lineNumbers) {
+        List<ParsedRow> rows = new ArrayList<>(records.size());
+
+        for (int i = 0; i < records.size(); i++) {
+            CSVRecord record = records.get(i);
+            ParsedRow row = new ParsedRow();
+            row.lineNumber = lineNumbers.get(i);
+            row.row = record.toString();
+
+            try {
+                row.title = record.get(0);
+                row.description = (record.size() > 1) ? record.get(1) : "";
+                row.dueDate = (record.size() > 2) ? CSVFileManager.parseDateTime(record.get(2)) : null;
+                row.priority = (record.size() > 3) ? PriorityLevel.valueOf(record.get(3).toUpperCase()) : PriorityLevel.MEDIUM;
+            } catch (Exception e) {
+                row.error = e.getMessage();
+            }
+
+            rows.add(row);
+        }
+
+        return rows;
+    }
+
+    /**
+     * Validate, dedupe and persist stages for one parsed batch
+     */
+    private void persist(List<ParsedRow> rows) throws IOException {
+        List<Task> accepted = new ArrayList<>(rows.size());
+
+        for (ParsedRow row : rows) {
+            rowsRead++;
+
+            if (row.error == null && row.title.trim().isEmpty()) {
+                row.error = "Task title cannot be empty";
+            }
+            if (row.error != null) {
+                listener.onRowError(row.lineNumber, row.row, row.error);
+                continue;
+            }
+
+            if (!seenFingerprints.add(fingerprint(row.title, row.description, row.dueDate))) {
+                // Duplicate of an existing or earlier row, or a fingerprint collision
+                listener.onDuplicate(row.lineNumber, row.row);
+                continue;
+            }
+
+            accepted.add(new Task(idSource.nextTaskId(), userId, row.title, row.description,
+                    row.dueDate, TaskStatus.INCOMPLETE, LocalDateTime.now(), row.priority));
+        }
+
+        if (!accepted.isEmpty()) {
+            sink.persist(accepted);
+            rowsImported += accepted.size();
+        }
+        listener.onProgress(rowsRead, rowsImported);
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the columns that identify a duplicate task
+     */
+    private static long fingerprint(String title, String description, LocalDateTime dueDate) {
+        String key = title + '\u0000' + description + '\u0000' + dueDate;
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
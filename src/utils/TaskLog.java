@@ -0,0 +1,296 @@
+// utils/TaskLog.java
+package utils;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import model.Task;
+
+/**
+ * Append-only log of task mutations kept next to a tasks snapshot file.
+ * Each create, update or delete appends one short record instead of rewriting
+ * the snapshot; loading replays the log over the snapshot, and the log is
+ * folded back into the snapshot in the background once it grows past
+ * {@code todo.compaction.records} records or has held records for
+ * {@code todo.compaction.intervalMillis}. Snapshots are replaced through a
+ * {@link SnapshotWriter}, so a crash never leaves a partial snapshot.
+ * <p>
+ * Appends go through a {@link GroupCommitWriter}, so concurrent appends share
+ * one write. The batch size and latency bound are read from the
+ * {@code todo.commit.batchSize} and {@code todo.commit.latencyMillis} system
+ * properties, and the durability mode from {@code todo.durability.tasks}.
+ */
+public class TaskLog {
+    /**
+     * Kind of mutation stored in a log record
+     */
+    public enum Operation {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+
+    private static final int COMPACTION_THRESHOLD = Integer.getInteger("todo.compaction.records", 1000);
+    private static final long COMPACTION_INTERVAL_MILLIS = Long.getLong("todo.compaction.intervalMillis", 30000);
+
+    // Shared with the binary task log
+    static final int COMMIT_BATCH_SIZE = Integer.getInteger("todo.commit.batchSize", 256);
+    static final int COMMIT_LATENCY_MILLIS = Integer.getInteger("todo.commit.latencyMillis", 2);
+    static final DurabilityMode DURABILITY =
+            DurabilityMode.fromSystemProperty("todo.durability.tasks", DurabilityMode.GROUPED);
+
+    /**
+     * Write latency of every task log, across all segments
+     */
+    public static final WriteMetrics WRITE_METRICS = new WriteMetrics("tasks");
+
+    // Shared by every segment, so compactions never compete for the disk
+    private static final ScheduledExecutorService COMPACTOR = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "task-log-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path snapshotFile;
+    private final Path logFile;
+    private final Path compactingFile;
+
+    private GroupCommitWriter writer;
+    private int recordsSinceCompaction;
+    private int snapshotGeneration;
+    private boolean compacting;
+
+    public TaskLog(Path snapshotFile, Path logFile) {
+        this.snapshotFile = snapshotFile;
+        this.logFile = logFile;
+        this.compactingFile = logFile.resolveSibling(logFile.getFileName() + ".compacting");
+    }
+
+    /**
+     * Appends a mutation record to the log
+     */
+    public void append(Operation operation, Task task) throws IOException {
+        appendAll(operation, Collections.singletonList(task));
+    }
+
+    /**
+     * Appends one mutation record per task to the log in a single write,
+     * returning once the records are on disk
+     */
+    public void appendAll(Operation operation, List<Task> tasks) throws IOException {
+        StringBuilder records = new StringBuilder();
+        for (Task task : tasks) {
+            records.append(toRecord(operation, task)).append(System.lineSeparator());
+        }
+
+        CompletableFuture<Void> written;
+        synchronized (this) {
+            if (writer == null) {
+                truncateTornTail(logFile);
+                writer = new GroupCommitWriter(logFile, DURABILITY, COMMIT_BATCH_SIZE, COMMIT_LATENCY_MILLIS,
+                        WRITE_METRICS);
+            }
+            written = writer.append(records.toString().getBytes(StandardCharsets.UTF_8));
+
+            // The first record after a compaction starts the time trigger
+            if (recordsSinceCompaction == 0) {
+                COMPACTOR.schedule(this::compactIfPending, COMPACTION_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            recordsSinceCompaction += tasks.size();
+            if (recordsSinceCompaction >= COMPACTION_THRESHOLD) {
+                compactInBackground();
+            }
+        }
+
+        // Wait outside the lock so concurrent appends can join the same batch
+        GroupCommitWriter.await(written);
+    }
+
+    /**
+     * Cuts off a torn record left at the end of the log by a crash, so the
+     * next append starts on a line of its own instead of being replayed as
+     * part of the torn one
+     */
+    private static void truncateTornTail(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        long complete = CSVRecordReader.completeLength(file);
+        if (complete < Files.size(file)) {
+            System.err.println("Truncating torn record at the end of " + file);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(complete);
+                channel.force(true);
+            }
+        }
+    }
+
+    /**
+     * Flushes pending appends and closes the log file, so it can be moved or deleted
+     */
+    private void closeWriter() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    /**
+     * Loads the snapshot and replays every logged mutation over it
+     */
+    public synchronized List<Task> load() throws IOException {
+        Map<Integer, Task> tasks = new LinkedHashMap<>();
+        for (Task task : CSVFileManager.readSnapshot(snapshotFile)) {
+            tasks.put(task.getTaskId(), task);
+        }
+
+        replay(compactingFile, tasks);
+        replay(logFile, tasks);
+        return new ArrayList<>(tasks.values());
+    }
+
+    /**
+     * Replaces the snapshot with the given tasks and discards the log
+     */
+    public synchronized void replaceSnapshot(Collection<Task> tasks) throws IOException {
+        closeWriter();
+        writeSnapshotAtomically(tasks);
+        Files.deleteIfExists(logFile);
+        Files.deleteIfExists(compactingFile);
+        recordsSinceCompaction = 0;
+        snapshotGeneration++;
+    }
+
+    /**
+     * Folds the current log into the snapshot on a background thread
+     */
+    public synchronized void compactInBackground() throws IOException {
+        if (compacting) {
+            return;
+        }
+
+        // A rotated log left by a crash or a failed compaction holds records
+        // the snapshot lacks, so it is merged first instead of rotated over
+        boolean leftover = Files.exists(compactingFile);
+        if (!leftover) {
+            if (!Files.exists(logFile)) {
+                return;
+            }
+            closeWriter();
+
+            // New appends go to a fresh log while the rotated one is merged
+            Files.move(logFile, compactingFile);
+            recordsSinceCompaction = 0;
+        }
+        compacting = true;
+        int generation = snapshotGeneration;
+
+        COMPACTOR.execute(() -> {
+            // After a leftover, the current log still waits for its turn
+            boolean retry = leftover;
+            try {
+                compact(generation);
+            } catch (IOException e) {
+                // The rotated log stays in place until a later attempt merges it
+                System.err.println("Error compacting task log: " + e.getMessage());
+                retry = true;
+            } finally {
+                synchronized (this) {
+                    compacting = false;
+                }
+            }
+            if (retry) {
+                COMPACTOR.schedule(this::compactIfPending, COMPACTION_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        });
+    }
+
+    /**
+     * Time trigger: compacts records that have waited a full interval
+     */
+    private synchronized void compactIfPending() {
+        if (recordsSinceCompaction == 0 && !Files.exists(compactingFile)) {
+            return;
+        }
+
+        // The records arrived after the running compaction rotated the log, so
+        // check again later; no append will start the trigger while they wait
+        if (compacting) {
+            COMPACTOR.schedule(this::compactIfPending, COMPACTION_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            return;
+        }
+
+        try {
+            compactInBackground();
+        } catch (IOException e) {
+            System.err.println("Error compacting task log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Merges the rotated log into a new snapshot
+     */
+    private void compact(int generation) throws IOException {
+        Map<Integer, Task> tasks = new LinkedHashMap<>();
+        for (Task task : CSVFileManager.readSnapshot(snapshotFile)) {
+            tasks.put(task.getTaskId(), task);
+        }
+        replay(compactingFile, tasks);
+
+        // Swap in the new snapshot and drop the merged records together, so a
+        // concurrent load never sees the old snapshot without its log records
+        synchronized (this) {
+            // A snapshot replaced meanwhile already supersedes the merged records
+            if (generation == snapshotGeneration) {
+                writeSnapshotAtomically(tasks.values());
+                Files.deleteIfExists(compactingFile);
+            }
+        }
+    }
+
+    /**
+     * Writes the snapshot to a temporary file, forces it and moves it into place
+     */
+    private void writeSnapshotAtomically(Collection<Task> tasks) throws IOException {
+        SnapshotWriter.write(snapshotFile, writer -> CSVFileManager.writeSnapshot(writer, tasks));
+    }
+
+    /**
+     * Applies the records of a log file, in order, to the given tasks
+     */
+    private static void replay(Path file, Map<Integer, Task> tasks) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        CSVRecordReader.forEach(file, false, (lineNumber, record) -> {
+            try {
+                Operation operation = Operation.valueOf(record.get(0));
+
+                if (operation == Operation.DELETE) {
+                    tasks.remove(Integer.parseInt(record.get(1)));
+                } else {
+                    Task task = CSVFileManager.parseTask(record, 1);
+                    tasks.put(task.getTaskId(), task);
+                }
+            } catch (Exception e) {
+                // A torn record at the end of the log is left by a crash mid-append
+                System.err.println("Error replaying task log record at line " + lineNumber + ": " + record);
+            }
+        });
+    }
+
+    /**
+     * Formats a single log record
+     */
+    private static String toRecord(Operation operation, Task task) {
+        if (operation == Operation.DELETE) {
+            return operation + "," + task.getTaskId();
+        }
+        return operation + "," + CSVFileManager.toCsvRow(task);
+    }
+}
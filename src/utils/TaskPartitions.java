@@ -0,0 +1,185 @@
+// utils/TaskPartitions.java
+package utils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import model.Task;
+
+/**
+ * Stores tasks in one segment per user, so loading a user's tasks only reads
+ * that user's snapshot and mutation log. Each segment is a {@link TaskLog}
+ * pair named after the hex-encoded user id, which keeps file names safe and
+ * distinct for any username.
+ */
+public class TaskPartitions {
+    private final Path directory;
+    private final Map<String, TaskLog> segments = new ConcurrentHashMap<>();
+
+    public TaskPartitions(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Gets the segment holding the given user's tasks
+     */
+    public TaskLog forUser(String userId) {
+        return segments.computeIfAbsent(userId, id -> {
+            String name = segmentName(id);
+            return new TaskLog(directory.resolve(name + ".csv"), directory.resolve(name + ".log"));
+        });
+    }
+
+    /**
+     * Loads the tasks of a single user
+     */
+    public List<Task> loadUserTasks(String userId) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        return forUser(userId).load();
+    }
+
+    /**
+     * Appends a mutation record to the segment of the task's owner
+     */
+    public void append(TaskLog.Operation operation, Task task) throws IOException {
+        Files.createDirectories(directory);
+        forUser(task.getUserId()).append(operation, task);
+    }
+
+    /**
+     * Appends one mutation record per task to the segment of each task's owner
+     */
+    public void appendAll(TaskLog.Operation operation, Collection<Task> tasks) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, List<Task>> entry : groupByUser(tasks).entrySet()) {
+            forUser(entry.getKey()).appendAll(operation, entry.getValue());
+        }
+    }
+
+    /**
+     * Loads the tasks of every user
+     */
+    public List<Task> loadAllTasks() throws IOException {
+        List<Task> tasks = new ArrayList<>();
+
+        for (String userId : listUserIds()) {
+            tasks.addAll(forUser(userId).load());
+        }
+
+        return tasks;
+    }
+
+    /**
+     * Replaces every segment with the given tasks, grouped by owner
+     */
+    public void replaceAll(Collection<Task> tasks) throws IOException {
+        Files.createDirectories(directory);
+
+        Map<String, List<Task>> tasksByUser = groupByUser(tasks);
+        for (String userId : listUserIds()) {
+            tasksByUser.putIfAbsent(userId, new ArrayList<>());
+        }
+
+        for (Map.Entry<String, List<Task>> entry : tasksByUser.entrySet()) {
+            forUser(entry.getKey()).replaceSnapshot(entry.getValue());
+        }
+    }
+
+    /**
+     * Returns whether the partition directory has been created
+     */
+    public boolean exists() {
+        return Files.isDirectory(directory);
+    }
+
+    /**
+     * Splits a single tasks file (and its pending log) into per-user segments.
+     * The segments are built in a scratch directory that is renamed into place
+     * once complete; the source files are left untouched.
+     */
+    public void migrate(Path tasksFile, Path tasksLogFile) throws IOException {
+        List<Task> tasks = new TaskLog(tasksFile, tasksLogFile).load();
+
+        Path scratchDirectory = directory.resolveSibling(directory.getFileName() + ".migrating");
+        deleteDirectory(scratchDirectory);
+        new TaskPartitions(scratchDirectory).replaceAll(tasks);
+
+        Files.move(scratchDirectory, directory, StandardCopyOption.ATOMIC_MOVE);
+        segments.clear();
+    }
+
+    /**
+     * Deletes a segment directory left behind by an interrupted migration
+     */
+    private static void deleteDirectory(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(path)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(path);
+    }
+
+    /**
+     * Lists the user ids that have a segment on disk
+     */
+    private Set<String> listUserIds() throws IOException {
+        Set<String> userIds = new LinkedHashSet<>();
+
+        if (!Files.isDirectory(directory)) {
+            return userIds;
+        }
+
+        // A segment may have a snapshot, a log, or both. A crash during
+        // compaction can leave a rotated log as the segment's only file.
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.{csv,log,log.compacting}")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                userIds.add(userIdOf(name.substring(0, name.indexOf('.'))));
+            }
+        }
+
+        return userIds;
+    }
+
+    private static Map<String, List<Task>> groupByUser(Collection<Task> tasks) {
+        Map<String, List<Task>> tasksByUser = new LinkedHashMap<>();
+        for (Task task : tasks) {
+            tasksByUser.computeIfAbsent(task.getUserId(), id -> new ArrayList<>()).add(task);
+        }
+        return tasksByUser;
+    }
+
+    /**
+     * Encodes a user id as a file-name-safe segment name
+     */
+    private static String segmentName(String userId) {
+        return HexFormat.of().formatHex(userId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String userIdOf(String segmentName) {
+        return new String(HexFormat.of().parseHex(segmentName), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Migration tool: converts a single tasks file into a partition directory.
+     * Usage: TaskPartitions [tasks.csv] [tasks.log] [tasks]
+     */
+    public static void main(String[] args) throws IOException {
+        Path tasksFile = Paths.get(args.length > 0 ? args[0] : "tasks.csv");
+        Path tasksLogFile = Paths.get(args.length > 1 ? args[1] : "tasks.log");
+        Path directory = Paths.get(args.length > 2 ? args[2] : "tasks");
+
+        TaskPartitions partitions = new TaskPartitions(directory);
+        partitions.migrate(tasksFile, tasksLogFile);
+        System.out.println("Migrated " + partitions.loadAllTasks().size() + " tasks into " + directory);
+    }
+}
@@ -0,0 +1,91 @@
+// utils/WriteMetrics.java
+package utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write latency and force counts for a store. Latencies are measured from
+ * the moment a record is queued until it is acknowledged, and bucketed by
+ * powers of two in microseconds for percentile estimates.
+ */
+public class WriteMetrics {
+    private static final int BUCKETS = 40;
+
+    private final String name;
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder forces = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    public WriteMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records the latency of one acknowledged write
+     */
+    public void recordWrite(long nanos) {
+        writes.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+
+        long micros = Math.max(1, nanos / 1000);
+        int bucket = Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(micros));
+        buckets.incrementAndGet(bucket);
+    }
+
+    /**
+     * Records one force to disk
+     */
+    public void recordForce() {
+        forces.increment();
+    }
+
+    public long getWriteCount() {
+        return writes.sum();
+    }
+
+    public long getForceCount() {
+        return forces.sum();
+    }
+
+    public double getMeanLatencyMillis() {
+        long count = writes.sum();
+        return count == 0 ? 0 : totalNanos.sum() / (count * 1_000_000.0);
+    }
+
+    public double getMaxLatencyMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Estimates a latency percentile as the upper bound of its bucket
+     * @param percentile A value between 0 and 100
+     */
+    public double getLatencyPercentileMillis(double percentile) {
+        long count = writes.sum();
+        if (count == 0) {
+            return 0;
+        }
+
+        long target = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= target) {
+                return (1L << (i + 1)) / 1000.0;
+            }
+        }
+        return getMaxLatencyMillis();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d writes, %d forces, mean %.3f ms, p99 %.3f ms, max %.3f ms",
+                name, getWriteCount(), getForceCount(), getMeanLatencyMillis(),
+                getLatencyPercentileMillis(99), getMaxLatencyMillis());
+    }
+}
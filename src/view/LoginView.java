@@ -124,6 +124,15 @@ public class LoginView extends JFrame {
         passwordField.setText("");
     }
 
+    /**
+     * Disables the buttons while a login is being checked
+     */
+    public void setBusy(boolean busy) {
+        loginButton.setEnabled(!busy);
+        registerButton.setEnabled(!busy);
+        setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+    }
+
     /**
      * Shows an error message
      */
@@ -4,11 +4,14 @@ package view;
 import model.*;
 import controller.*;
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.table.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.io.File;
+import utils.TaskExporter;
 import java.time.*;
 import java.util.*;
 import java.util.List;
@@ -17,10 +20,13 @@ import java.util.List;
  * Main task management interface
  */
 public class TaskView extends JFrame {
+    private static final int SEARCH_DELAY_MILLIS = 150;
+
     private JTable taskTable;
     private TaskTableModel tableModel;
     private JComboBox<String> filterComboBox;
     private JComboBox<String> sortComboBox;
+    private JTextField searchField;
     private JButton addTaskButton;
     private JButton editTaskButton;
     private JButton deleteTaskButton;
@@ -28,6 +34,7 @@ public class TaskView extends JFrame {
     private JButton importButton;
     private JButton logoutButton;
     private JButton themeButton;
+    private JLabel statusLabel;
 
     private TaskController controller;
 
@@ -38,7 +45,7 @@ public class TaskView extends JFrame {
         this.taskManager = taskManager;
         controller = new TaskController(this, taskManager);
         initializeUI(); // This initializes tableModel
-        controller.loadTasks(); // Load tasks after UI is ready
+        controller.showTasks(); // Show the tasks loaded at login
     }
 
     /**
@@ -65,6 +72,14 @@ public class TaskView extends JFrame {
         importItem.addActionListener(e -> controller.handleImport());
         fileMenu.add(importItem);
 
+        JMenuItem reloadItem = new JMenuItem("Reload Tasks");
+        reloadItem.addActionListener(e -> controller.loadTasks());
+        fileMenu.add(reloadItem);
+
+        JMenuItem switchUserItem = new JMenuItem("Switch User");
+        switchUserItem.addActionListener(e -> controller.handleSwitchUser());
+        fileMenu.add(switchUserItem);
+
         JMenuItem logoutItem = new JMenuItem("Logout");
         logoutItem.addActionListener(e -> controller.handleLogout());
         fileMenu.add(logoutItem);
@@ -105,10 +120,26 @@ public class TaskView extends JFrame {
         topPanel.add(sortLabel);
         topPanel.add(sortComboBox);
 
+        // Search section, updated once the user pauses typing
+        JLabel searchLabel = new JLabel("Search:");
+        searchField = new JTextField(20);
+        javax.swing.Timer searchDelay = new javax.swing.Timer(SEARCH_DELAY_MILLIS, e -> controller.handleSearchChange());
+        searchDelay.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) { searchDelay.restart(); }
+            @Override
+            public void removeUpdate(DocumentEvent e) { searchDelay.restart(); }
+            @Override
+            public void changedUpdate(DocumentEvent e) { searchDelay.restart(); }
+        });
+        topPanel.add(searchLabel);
+        topPanel.add(searchField);
+
         mainPanel.add(topPanel, BorderLayout.NORTH);
 
         // Table setup
-        tableModel = new TaskTableModel();
+        tableModel = new TaskTableModel(controller);
         taskTable = new JTable(tableModel);
 
         // Customize table appearance
@@ -130,6 +161,9 @@ public class TaskView extends JFrame {
         // Bottom panel with action buttons
         JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 5));
 
+        statusLabel = new JLabel();
+        bottomPanel.add(statusLabel);
+
         addTaskButton = new JButton("Add Task");
         addTaskButton.addActionListener(e -> controller.handleAddTask());
         bottomPanel.add(addTaskButton);
@@ -170,6 +204,28 @@ public class TaskView extends JFrame {
         tableModel.setTasks(tasks);
     }
 
+    /**
+     * Disables editing while a long-running operation such as an import
+     * changes the tasks in the background
+     */
+    public void setBusy(boolean busy) {
+        for (int i = 0; i < getJMenuBar().getMenuCount(); i++) {
+            getJMenuBar().getMenu(i).setEnabled(!busy);
+        }
+        for (JComponent component : new JComponent[]{taskTable, filterComboBox, sortComboBox, searchField,
+                addTaskButton, editTaskButton, deleteTaskButton, exportButton, importButton, logoutButton}) {
+            component.setEnabled(!busy);
+        }
+        setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+    }
+
+    /**
+     * Shows a short status line below the table, e.g. import progress
+     */
+    public void showStatus(String message) {
+        statusLabel.setText(message);
+    }
+
     /**
      * Gets the currently selected task
      */
@@ -221,6 +277,13 @@ public class TaskView extends JFrame {
         return (String) sortComboBox.getSelectedItem();
     }
 
+    /**
+     * Gets the current search text
+     */
+    public String getSearchText() {
+        return searchField.getText();
+    }
+
     /**
      * Shows the add/edit task dialog
      */
@@ -272,9 +335,10 @@ public class TaskView extends JFrame {
 class TaskTableModel extends AbstractTableModel {
     private static final String[] COLUMN_NAMES = {"Status", "Title", "Due Date", "Priority", "Created", "Description"};
     private List<Task> tasks = new ArrayList<>();
+    private final TaskController controller;
 
-    public TaskTableModel() {
-        // Initialize with empty list
+    public TaskTableModel(TaskController controller) {
+        this.controller = controller;
     }
 
     public void setTasks(List<Task> tasks) {
@@ -334,9 +398,8 @@ class TaskTableModel extends AbstractTableModel {
     @Override
     public void setValueAt(Object value, int row, int column) {
         if (column == 0) {
-            Task task = tasks.get(row);
-            task.setStatus((Boolean) value ? TaskStatus.COMPLETE : TaskStatus.INCOMPLETE);
-            fireTableCellUpdated(row, column);
+            // Saved through the controller, so the change survives a restart
+            controller.handleStatusChange(tasks.get(row), (Boolean) value);
         }
     }
 
@@ -489,12 +552,18 @@ class ExportDialog extends JDialog {
     private JCheckBox descriptionBox;
     private JCheckBox dueDateBox;
     private JCheckBox priorityBox;
+    private JComboBox<String> formatCombo;
+    private JCheckBox compressBox;
     private boolean confirmed = false;
     private JButton browseButton;
 
+    private static final String[] FORMAT_NAMES = {"CSV", "JSON Lines", "Binary"};
+    private static final TaskExporter.Format[] FORMATS = {
+            TaskExporter.Format.CSV, TaskExporter.Format.JSON_LINES, TaskExporter.Format.BINARY};
+
     public ExportDialog(JFrame parent) {
         super(parent, "Export Tasks", true);
-        setSize(500, 220);
+        setSize(500, 290);
         setLocationRelativeTo(parent);
         initializeUI();
     }
@@ -555,6 +624,26 @@ class ExportDialog extends JDialog {
         gbc.gridwidth = 3;
         panel.add(fieldsPanel, gbc);
 
+        // Output format
+        JLabel formatLabel = new JLabel("Format:");
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        gbc.gridwidth = 1;
+        panel.add(formatLabel, gbc);
+
+        formatCombo = new JComboBox<>(FORMAT_NAMES);
+        formatCombo.addActionListener(e -> filenameField.setText(withExtension(filenameField.getText())));
+        gbc.gridx = 1;
+        gbc.gridy = 2;
+        panel.add(formatCombo, gbc);
+
+        compressBox = new JCheckBox("Compress (gzip)");
+        compressBox.addActionListener(e -> filenameField.setText(withExtension(filenameField.getText())));
+        gbc.gridx = 2;
+        gbc.gridy = 2;
+        gbc.gridwidth = 2;
+        panel.add(compressBox, gbc);
+
         // Buttons
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 5));
 
@@ -570,7 +659,7 @@ class ExportDialog extends JDialog {
         buttonPanel.add(cancelButton);
 
         gbc.gridx = 0;
-        gbc.gridy = 2;
+        gbc.gridy = 3;
         gbc.gridwidth = 4;
         gbc.anchor = GridBagConstraints.EAST;
         panel.add(buttonPanel, gbc);
@@ -583,20 +672,40 @@ class ExportDialog extends JDialog {
         JFileChooser fileChooser = new JFileChooser();
         fileChooser.setDialogTitle("Choose Export Location");
         fileChooser.setSelectedFile(new File(filenameField.getText()));
-        fileChooser.setFileFilter(new FileNameExtensionFilter("CSV Files", "csv"));
+        fileChooser.setFileFilter(new FileNameExtensionFilter(
+                FORMAT_NAMES[formatCombo.getSelectedIndex()] + " Files", selectedFormat().getExtension().substring(1)));
 
         int result = fileChooser.showSaveDialog(this);
         if (result == JFileChooser.APPROVE_OPTION) {
             File selectedFile = fileChooser.getSelectedFile();
-            String filePath = selectedFile.getAbsolutePath();
+            filenameField.setText(withExtension(selectedFile.getAbsolutePath()));
+        }
+    }
+
+    private TaskExporter.Format selectedFormat() {
+        return FORMATS[formatCombo.getSelectedIndex()];
+    }
 
-            // Ensure .csv extension
-            if (!filePath.toLowerCase().endsWith(".csv")) {
-                filePath += ".csv";
+    /**
+     * Replaces any export extension on the path with the one for the selected format
+     */
+    private String withExtension(String filePath) {
+        String lowerPath = filePath.toLowerCase();
+        if (lowerPath.endsWith(".gz")) {
+            filePath = filePath.substring(0, filePath.length() - ".gz".length());
+            lowerPath = filePath.toLowerCase();
+        }
+        for (TaskExporter.Format format : FORMATS) {
+            if (lowerPath.endsWith(format.getExtension())) {
+                filePath = filePath.substring(0, filePath.length() - format.getExtension().length());
+                break;
             }
+        }
 
-            filenameField.setText(filePath);
+        if (filePath.isEmpty()) {
+            return filePath;
         }
+        return filePath + selectedFormat().getExtension() + (compressBox.isSelected() ? ".gz" : "");
     }
 
     public boolean isConfirmed() {
@@ -604,11 +713,7 @@ class ExportDialog extends JDialog {
     }
 
     public String getFilename() {
-        String filename = filenameField.getText().trim();
-        if (!filename.isEmpty() && !filename.toLowerCase().endsWith(".csv")) {
-            filename += ".csv";
-        }
-        return filename;
+        return withExtension(filenameField.getText().trim());
     }
 
     public boolean includeDescription() {